@@ -0,0 +1,290 @@
+package hms;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// ==================================================
+// COLUMNAR APPOINTMENT STORE
+// ==================================================
+// The full appointment table held as one primitive array per column instead of
+// an Appointment object (and six Strings) per row:
+//
+//   - patient, doctor and type names are dictionary-encoded: each distinct string
+//     is kept once and rows hold its int code
+//   - date and time are the epochDay / minuteOfDay ints; their text is rebuilt as
+//     dd/MM/yyyy and HH:mm, and only rows whose stored text differs keep it
+//   - notes are mostly empty, so only the non-empty ones are kept, off to the side
+//
+// Rows are append-only and numbered in insertion (id) order. Appends come from
+// one thread at a time; snapshot() gives a read-only view of the rows so far that
+// other threads may read while appends continue.
+final class AppointmentStore {
+
+    private static final int NO_STRING = -1;
+
+    // Each distinct string once, numbered in order of first appearance
+    private static final class Dictionary {
+        private String[] values;
+        private int size;
+        private final Map<String, Integer> codes;
+
+        Dictionary() {
+            values = new String[16];
+            codes = new HashMap<>();
+        }
+
+        private Dictionary(Dictionary live) {
+            values = live.values;
+            size = live.size;
+            codes = null;
+        }
+
+        int code(String value) {
+            if (value == null) return NO_STRING;
+            Integer code = codes.get(value);
+            if (code != null) return code;
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size] = value;
+            codes.put(value, size);
+            return size++;
+        }
+
+        String value(int code) {
+            return code == NO_STRING ? null : values[code];
+        }
+    }
+
+    // Values for a few rows, found by binary search; rows arrive in ascending order
+    private static final class SparseColumn {
+        private int[] rows = new int[16];
+        private String[] values = new String[16];
+        private int size;
+
+        SparseColumn() {
+        }
+
+        private SparseColumn(SparseColumn live) {
+            rows = live.rows;
+            values = live.values;
+            size = live.size;
+        }
+
+        void put(int row, String value) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            rows[size] = row;
+            values[size++] = value;
+        }
+
+        int find(int row) {
+            return Arrays.binarySearch(rows, 0, size, row);
+        }
+
+        String value(int index) {
+            return values[index];
+        }
+    }
+
+    private final boolean readOnly;
+    private int size;
+    private long[] ids, patientIds, doctorIds;
+    private int[] patientCodes, doctorCodes, typeCodes;
+    private int[] epochDays, minutesOfDay;
+    private final Dictionary patients, doctors, types;
+    private final SparseColumn dateTexts, timeTexts, notes;
+
+    AppointmentStore() {
+        this(1024);
+    }
+
+    AppointmentStore(int capacity) {
+        readOnly = false;
+        capacity = Math.max(16, capacity);
+        ids = new long[capacity];
+        patientIds = new long[capacity];
+        doctorIds = new long[capacity];
+        patientCodes = new int[capacity];
+        doctorCodes = new int[capacity];
+        typeCodes = new int[capacity];
+        epochDays = new int[capacity];
+        minutesOfDay = new int[capacity];
+        patients = new Dictionary();
+        doctors = new Dictionary();
+        types = new Dictionary();
+        dateTexts = new SparseColumn();
+        timeTexts = new SparseColumn();
+        notes = new SparseColumn();
+    }
+
+    // Rows below size are never written again and growing copies into new arrays,
+    // so sharing the current arrays is enough
+    private AppointmentStore(AppointmentStore live) {
+        readOnly = true;
+        size = live.size;
+        ids = live.ids;
+        patientIds = live.patientIds;
+        doctorIds = live.doctorIds;
+        patientCodes = live.patientCodes;
+        doctorCodes = live.doctorCodes;
+        typeCodes = live.typeCodes;
+        epochDays = live.epochDays;
+        minutesOfDay = live.minutesOfDay;
+        patients = new Dictionary(live.patients);
+        doctors = new Dictionary(live.doctors);
+        types = new Dictionary(live.types);
+        dateTexts = new SparseColumn(live.dateTexts);
+        timeTexts = new SparseColumn(live.timeTexts);
+        notes = new SparseColumn(live.notes);
+    }
+
+    static AppointmentStore of(Collection<HMSNeumorphicAppModern.Appointment> appointments) {
+        AppointmentStore store = new AppointmentStore(appointments.size());
+        for (HMSNeumorphicAppModern.Appointment a : appointments) store.add(a);
+        return store;
+    }
+
+    // Read-only view of the rows appended so far, safe to hand to another thread
+    AppointmentStore snapshot() {
+        return new AppointmentStore(this);
+    }
+
+    int add(HMSNeumorphicAppModern.Appointment a) {
+        return add(a.id, a.patientId, a.doctorId, a.patient, a.doctor, a.type, a.date, a.time, a.notes,
+                a.epochDay, a.minuteOfDay);
+    }
+
+    // Appends a row and returns its row number
+    int add(long id, long patientId, long doctorId, String patient, String doctor, String type,
+            String date, String time, String note, int epochDay, int minuteOfDay) {
+        if (readOnly) throw new UnsupportedOperationException("Snapshots are read-only");
+        if (size == ids.length) grow();
+        int row = size;
+        ids[row] = id;
+        patientIds[row] = patientId;
+        doctorIds[row] = doctorId;
+        patientCodes[row] = patients.code(patient);
+        doctorCodes[row] = doctors.code(doctor);
+        typeCodes[row] = types.code(type);
+        epochDays[row] = epochDay;
+        minutesOfDay[row] = minuteOfDay;
+        if (date == null || !date.equals(dateText(epochDay))) dateTexts.put(row, date);
+        if (time == null || !time.equals(timeText(minuteOfDay))) timeTexts.put(row, time);
+        if (note != null && !note.isEmpty()) notes.put(row, note);
+        size++;
+        return row;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        patientIds = Arrays.copyOf(patientIds, capacity);
+        doctorIds = Arrays.copyOf(doctorIds, capacity);
+        patientCodes = Arrays.copyOf(patientCodes, capacity);
+        doctorCodes = Arrays.copyOf(doctorCodes, capacity);
+        typeCodes = Arrays.copyOf(typeCodes, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        minutesOfDay = Arrays.copyOf(minutesOfDay, capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long id(int row) {
+        return ids[row];
+    }
+
+    long patientId(int row) {
+        return patientIds[row];
+    }
+
+    long doctorId(int row) {
+        return doctorIds[row];
+    }
+
+    int epochDay(int row) {
+        return epochDays[row];
+    }
+
+    int minuteOfDay(int row) {
+        return minutesOfDay[row];
+    }
+
+    String patient(int row) {
+        return patients.value(patientCodes[row]);
+    }
+
+    String doctor(int row) {
+        return doctors.value(doctorCodes[row]);
+    }
+
+    String type(int row) {
+        return types.value(typeCodes[row]);
+    }
+
+    String date(int row) {
+        int i = dateTexts.find(row);
+        return i >= 0 ? dateTexts.value(i) : dateText(epochDays[row]);
+    }
+
+    String time(int row) {
+        int i = timeTexts.find(row);
+        return i >= 0 ? timeTexts.value(i) : timeText(minutesOfDay[row]);
+    }
+
+    String notes(int row) {
+        int i = notes.find(row);
+        return i >= 0 ? notes.value(i) : "";
+    }
+
+    // Table cells in APPOINTMENT_COLUMNS order, as appointmentRow would give them
+    Object[] row(int row) {
+        return new Object[]{patient(row), doctor(row), type(row), TypedCell.date(date(row), epochDays[row]),
+                TypedCell.time(time(row), minutesOfDay[row]), notes(row)};
+    }
+
+    // A standalone Appointment for a row, for code that keeps or edits one
+    HMSNeumorphicAppModern.Appointment get(int row) {
+        HMSNeumorphicAppModern.Appointment a = new HMSNeumorphicAppModern.Appointment(patient(row), doctor(row),
+                type(row), date(row), time(row), notes(row), epochDays[row], minutesOfDay[row]);
+        a.id = ids[row];
+        a.patientId = patientIds[row];
+        a.doctorId = doctorIds[row];
+        return a;
+    }
+
+    // dd/MM/yyyy, or null when there is no date to format
+    private static String dateText(int epochDay) {
+        if (epochDay == HMSNeumorphicAppModern.Appointment.NO_DATE) return null;
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        if (date.getYear() < 1000 || date.getYear() > 9999) return null;
+        char[] text = new char[10];
+        twoDigits(text, 0, date.getDayOfMonth());
+        text[2] = '/';
+        twoDigits(text, 3, date.getMonthValue());
+        text[5] = '/';
+        twoDigits(text, 6, date.getYear() / 100);
+        twoDigits(text, 8, date.getYear() % 100);
+        return new String(text);
+    }
+
+    // HH:mm, or null when there is no time to format
+    private static String timeText(int minuteOfDay) {
+        if (minuteOfDay == HMSNeumorphicAppModern.Appointment.NO_TIME) return null;
+        char[] text = new char[5];
+        twoDigits(text, 0, minuteOfDay / 60);
+        text[2] = ':';
+        twoDigits(text, 3, minuteOfDay % 60);
+        return new String(text);
+    }
+
+    private static void twoDigits(char[] text, int at, int value) {
+        text[at] = (char) ('0' + value / 10);
+        text[at + 1] = (char) ('0' + value % 10);
+    }
+}
@@ -0,0 +1,258 @@
+package hms;
+
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// ==================================================
+// ASYNCHRONOUS DATA ACCESS
+// ==================================================
+// Runs DatabaseManager calls off the Swing event thread. Reads run on a pool
+// with one thread per read-only connection, so they run side by side and never
+// queue behind a write (or its busy retries). Writes run in order on the
+// "hms-db" thread, which hands each one to the connection layer's writer.
+// Returned futures complete on the EDT, so callbacks chained with thenAccept,
+// whenComplete, etc. can touch Swing components directly.
+class AsyncRepository {
+    private static final Executor EDT = SwingUtilities::invokeLater;
+    private static final LatencyHistogram QUEUE_WAIT = Metrics.latency("db.queue");
+    private static final LongAdder FAILURES = Metrics.counter("db.failures");
+
+    // Set by the first write task when opened lazily, so tasks read it when
+    // they run (() -> db.x()) rather than binding it when queued (db::x)
+    private volatile DatabaseManager db;
+    // Complete once db is set; reads wait on it, writes are queued behind it
+    private final CompletableFuture<Void> ready;
+    private final ExecutorService writes = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "hms-db");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicInteger readerThreads = new AtomicInteger();
+    private final ExecutorService reads = Executors.newFixedThreadPool(SqliteConnections.DEFAULT_READERS, r -> {
+        Thread t = new Thread(r, "hms-db-read-" + readerThreads.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    public AsyncRepository(DatabaseManager db) {
+        this.db = db;
+        ready = CompletableFuture.completedFuture(null);
+    }
+
+    // Opens the database as the first write task, so construction never waits on
+    // the file or its migrations; calls made meanwhile wait for it
+    public AsyncRepository(Supplier<DatabaseManager> opener) {
+        ready = submit("open", () -> {
+            db = opener.get();
+            return null;
+        }, writes);
+    }
+
+    // Patients
+    public CompletableFuture<Void> savePatient(HMSNeumorphicAppModern.Patient p) {
+        return save("savePatient", () -> db.savePatient(p));
+    }
+
+    public CompletableFuture<List<HMSNeumorphicAppModern.Patient>> loadPatients() {
+        return read("loadPatients", () -> db.loadPatients());
+    }
+
+    public CompletableFuture<List<HMSNeumorphicAppModern.Patient>> loadPatientsPage(long afterId) {
+        return read("loadPatientsPage", () -> db.loadPatientsPage(afterId));
+    }
+
+    // Summaries leave the detail fields null; loadPatient fetches one full record
+    public CompletableFuture<List<HMSNeumorphicAppModern.Patient>> loadPatientSummaries() {
+        return read("loadPatientSummaries", () -> db.loadPatientSummaries());
+    }
+
+    public CompletableFuture<List<HMSNeumorphicAppModern.Patient>> loadPatientSummariesPage(long afterId) {
+        return read("loadPatientSummariesPage", () -> db.loadPatientSummariesPage(afterId));
+    }
+
+    // A cached record completes at once on the calling thread, without queueing behind other work
+    public CompletableFuture<HMSNeumorphicAppModern.Patient> loadPatient(long id) {
+        DatabaseManager opened = db;
+        HMSNeumorphicAppModern.Patient cached = opened != null ? opened.cachedPatient(id) : null;
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+        return read("loadPatient", () -> db.loadPatient(id));
+    }
+
+    public CompletableFuture<Integer> countPatients() {
+        return read("countPatients", () -> db.countPatients());
+    }
+
+    public CompletableFuture<long[]> loadPatientPageEnds(int pageSize) {
+        return read("loadPatientPageEnds", () -> db.loadPatientPageEnds(pageSize));
+    }
+
+    // Doctors
+    public CompletableFuture<Void> saveDoctor(HMSNeumorphicAppModern.Doctor d) {
+        return save("saveDoctor", () -> db.saveDoctor(d));
+    }
+
+    public CompletableFuture<List<HMSNeumorphicAppModern.Doctor>> loadDoctors() {
+        return read("loadDoctors", () -> db.loadDoctors());
+    }
+
+    // Appointments
+    public CompletableFuture<Void> saveAppointment(HMSNeumorphicAppModern.Appointment a) {
+        return save("saveAppointment", () -> db.saveAppointment(a));
+    }
+
+    // Completes with false, and writes nothing, if the doctor's slot is already taken in the database
+    public CompletableFuture<Boolean> saveAppointmentIfFree(HMSNeumorphicAppModern.Appointment a) {
+        return write("saveAppointmentIfFree", () -> {
+            try {
+                return db.saveAppointmentIfFree(a);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    public CompletableFuture<AppointmentStore> loadAppointmentStore() {
+        return read("loadAppointmentStore", () -> db.loadAppointmentStore());
+    }
+
+    public CompletableFuture<List<HMSNeumorphicAppModern.Appointment>> loadAppointmentsPage(long afterId) {
+        return read("loadAppointmentsPage", () -> db.loadAppointmentsPage(afterId));
+    }
+
+    public CompletableFuture<Integer> countAppointments() {
+        return read("countAppointments", () -> db.countAppointments());
+    }
+
+    public CompletableFuture<List<HMSNeumorphicAppModern.Appointment>> loadAppointmentsForDoctor(long doctorId) {
+        return read("loadAppointmentsForDoctor", () -> db.loadAppointmentsForDoctor(doctorId));
+    }
+
+    public CompletableFuture<List<HMSNeumorphicAppModern.Patient>> loadPatientSummariesForDoctor(long doctorId) {
+        return read("loadPatientSummariesForDoctor", () -> db.loadPatientSummariesForDoctor(doctorId));
+    }
+
+    public CompletableFuture<long[]> loadAppointmentPageEnds(int pageSize) {
+        return read("loadAppointmentPageEnds", () -> db.loadAppointmentPageEnds(pageSize));
+    }
+
+    // Billing
+    public CompletableFuture<Void> saveBill(HMSNeumorphicAppModern.Bill b) {
+        return save("saveBill", () -> db.saveBill(b));
+    }
+
+    public CompletableFuture<List<HMSNeumorphicAppModern.Bill>> loadBills() {
+        return read("loadBills", () -> db.loadBills());
+    }
+
+    public CompletableFuture<Void> saveService(HMSNeumorphicAppModern.Service s) {
+        return save("saveService", () -> db.saveService(s));
+    }
+
+    public CompletableFuture<List<HMSNeumorphicAppModern.Service>> loadServices() {
+        return read("loadServices", () -> db.loadServices());
+    }
+
+    public CompletableFuture<Map<String, Long>> loadRevenueByService() {
+        return read("loadRevenueByService", () -> db.loadRevenueByService());
+    }
+
+    // Bulk import on the write thread, which is the pipeline's writer stage
+    // progress is called on the db thread after each committed chunk
+    public CompletableFuture<CsvImport.Result> importCsv(TableExport.Table table, Path file, Path rejects,
+                                                         DatabaseManager.BatchProgress progress) {
+        return write("importCsv", () -> {
+            try {
+                return CsvImport.importFile(db, table, file, rejects, progress);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public int getPageSize() {
+        DatabaseManager opened = db;
+        return opened != null ? opened.getPageSize() : DatabaseManager.DEFAULT_PAGE_SIZE;
+    }
+
+    // Lets queued writes and running reads finish before the connections are closed
+    public void close() {
+        writes.shutdown();
+        reads.shutdown();
+        try {
+            if (!writes.awaitTermination(5, TimeUnit.SECONDS)) {
+                writes.shutdownNow();
+            }
+            if (!reads.awaitTermination(5, TimeUnit.SECONDS)) {
+                reads.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (db != null) db.close();
+    }
+
+    // A DatabaseManager save that throws on failure
+    private interface Save {
+        void run() throws SQLException;
+    }
+
+    // Fails the returned future with the SQLException, so callers' error paths run
+    private CompletableFuture<Void> save(String operation, Save task) {
+        return write(operation, () -> {
+            try {
+                task.run();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> write(String operation, Supplier<T> task) {
+        return submit(operation, task, writes).whenCompleteAsync((r, ex) -> {}, EDT);
+    }
+
+    private <T> CompletableFuture<T> read(String operation, Supplier<T> task) {
+        return submit(operation, () -> {
+            ready.join();
+            return task.get();
+        }, reads).whenCompleteAsync((r, ex) -> {}, EDT);
+    }
+
+    // Times the queue wait and the call itself into "db.queue" and "db.<operation>";
+    // list results also add their size to the "db.<operation>.rows" counter
+    private <T> CompletableFuture<T> submit(String operation, Supplier<T> task, Executor executor) {
+        long queued = System.nanoTime();
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            QUEUE_WAIT.record(start - queued);
+            try {
+                T result = task.get();
+                if (result instanceof Collection) {
+                    Metrics.counter("db." + operation + ".rows").add(((Collection<?>) result).size());
+                }
+                return result;
+            } catch (RuntimeException e) {
+                FAILURES.increment();
+                throw e;
+            } finally {
+                Metrics.latency("db." + operation).recordSince(start);
+            }
+        }, executor);
+    }
+}
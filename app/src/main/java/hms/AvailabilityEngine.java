@@ -0,0 +1,152 @@
+package hms;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// ==================================================
+// DOCTOR AVAILABILITY
+// ==================================================
+// One bitmap per doctor per day, a bit for each 15-minute slot (96 bits, two
+// longs). Booking and conflict checks touch a single bit, and a day's first
+// free slot is a numberOfTrailingZeros over two words. An appointment holds the
+// slot its start time falls in.
+//
+// Bookings are EDT-only. Next-free-slot searches fan out across doctors on the
+// common pool while the calling (EDT) thread waits, so no booking can interleave.
+class AvailabilityEngine {
+
+    static final int SLOT_MINUTES = 15;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int WORDS = (SLOTS_PER_DAY + 63) / 64;
+
+    // Searches only offer slots within clinic hours, up to SEARCH_DAYS ahead
+    static final int OPEN_MINUTE = 8 * 60;
+    static final int CLOSE_MINUTE = 17 * 60;
+    static final int SEARCH_DAYS = 90;
+
+    static class Slot {
+        final HMSNeumorphicAppModern.Doctor doctor;
+        final int epochDay;
+        final int minuteOfDay;
+
+        Slot(HMSNeumorphicAppModern.Doctor doctor, int epochDay, int minuteOfDay) {
+            this.doctor = doctor;
+            this.epochDay = epochDay;
+            this.minuteOfDay = minuteOfDay;
+        }
+    }
+
+    private static final Comparator<Slot> EARLIEST =
+            Comparator.comparingInt((Slot s) -> s.epochDay).thenComparingInt(s -> s.minuteOfDay);
+
+    // doctor id -> epoch day -> slot bitmap
+    private final Map<Long, Map<Integer, long[]>> bookings = new HashMap<>();
+    private boolean ready;
+
+    // Rebuilds every bitmap from the full appointment list
+    public void reset(AppointmentStore appointments) {
+        bookings.clear();
+        for (int row = 0; row < appointments.size(); row++) {
+            long doctorId = appointments.doctorId(row);
+            int epochDay = appointments.epochDay(row);
+            int minuteOfDay = appointments.minuteOfDay(row);
+            if (isScheduled(doctorId, epochDay, minuteOfDay)) set(day(doctorId, epochDay, true), slot(minuteOfDay));
+        }
+        ready = true;
+    }
+
+    // False until the full appointment list has been seen, when checks would be incomplete
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Claims the appointment's slot; false if the doctor already has it.
+    // Appointments without a doctor, date or time hold no slot and always succeed.
+    public boolean book(HMSNeumorphicAppModern.Appointment a) {
+        if (!isScheduled(a)) return true;
+        long[] bits = day(a.doctorId, a.epochDay, true);
+        int slot = slot(a.minuteOfDay);
+        if (get(bits, slot)) return false;
+        set(bits, slot);
+        return true;
+    }
+
+    // Gives a slot back, e.g. when the save that claimed it failed
+    public void release(HMSNeumorphicAppModern.Appointment a) {
+        if (!isScheduled(a)) return;
+        long[] bits = day(a.doctorId, a.epochDay, false);
+        if (bits != null) bits[slot(a.minuteOfDay) >>> 6] &= ~(1L << slot(a.minuteOfDay));
+    }
+
+    // Earliest free clinic-hours slot at or after the given time among doctors of the
+    // specialty, or null if none is free within SEARCH_DAYS
+    public Slot nextFreeSlot(List<HMSNeumorphicAppModern.Doctor> doctors, String specialty,
+                             int fromEpochDay, int fromMinute) {
+        return doctors.parallelStream()
+                .filter(d -> d.specialty != null && d.specialty.equalsIgnoreCase(specialty))
+                .map(d -> firstFree(d, fromEpochDay, fromMinute))
+                .filter(Objects::nonNull)
+                .min(EARLIEST)
+                .orElse(null);
+    }
+
+    private Slot firstFree(HMSNeumorphicAppModern.Doctor doctor, int fromEpochDay, int fromMinute) {
+        Map<Integer, long[]> days = bookings.get(doctor.id);
+        int open = slot(OPEN_MINUTE);
+        int close = slot(CLOSE_MINUTE);
+        for (int day = fromEpochDay; day < fromEpochDay + SEARCH_DAYS; day++) {
+            int first = day == fromEpochDay ? Math.max(open, (fromMinute + SLOT_MINUTES - 1) / SLOT_MINUTES) : open;
+            long[] bits = days == null ? null : days.get(day);
+            for (int w = first >>> 6; w < WORDS && w <= (close - 1) >>> 6; w++) {
+                long free = ~(bits == null ? 0 : bits[w]) & range(w, first, close);
+                if (free != 0) {
+                    int slot = (w << 6) + Long.numberOfTrailingZeros(free);
+                    return new Slot(doctor, day, slot * SLOT_MINUTES);
+                }
+            }
+        }
+        return null;
+    }
+
+    private long[] day(long doctorId, int epochDay, boolean create) {
+        if (!create) {
+            Map<Integer, long[]> days = bookings.get(doctorId);
+            return days == null ? null : days.get(epochDay);
+        }
+        return bookings.computeIfAbsent(doctorId, id -> new HashMap<>())
+                .computeIfAbsent(epochDay, d -> new long[WORDS]);
+    }
+
+    private static boolean isScheduled(HMSNeumorphicAppModern.Appointment a) {
+        return isScheduled(a.doctorId, a.epochDay, a.minuteOfDay);
+    }
+
+    private static boolean isScheduled(long doctorId, int epochDay, int minuteOfDay) {
+        return doctorId > 0
+                && epochDay != HMSNeumorphicAppModern.Appointment.NO_DATE
+                && minuteOfDay != HMSNeumorphicAppModern.Appointment.NO_TIME;
+    }
+
+    private static int slot(int minuteOfDay) {
+        return minuteOfDay / SLOT_MINUTES;
+    }
+
+    private static boolean get(long[] bits, int slot) {
+        return (bits[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    private static void set(long[] bits, int slot) {
+        bits[slot >>> 6] |= 1L << slot;
+    }
+
+    // Mask of the slots in [from, to) that fall in word w
+    private static long range(int w, int from, int to) {
+        int lo = Math.max(from, w << 6) - (w << 6);
+        int hi = Math.min(to, (w + 1) << 6) - (w << 6);
+        if (lo >= hi) return 0;
+        return (-1L >>> (64 - (hi - lo))) << lo;
+    }
+}
@@ -0,0 +1,150 @@
+package hms;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+// ==================================================
+// BILLING ANALYTICS
+// ==================================================
+// Revenue totals over the in-memory bill list, in cents. The list is split
+// fork-join style; each leaf sums its bills into a dense per-day long[] and
+// the halves are merged by adding arrays, so the hot loop never boxes.
+// Per-doctor totals go into shared LongAdders. Months are rolled up from the
+// daily array afterwards. Per-service revenue is aggregated in SQL instead
+// (DatabaseManager.loadRevenueByService), where the line items are normalized.
+//
+// aggregate() only reads the list, so callers pass a snapshot taken on the EDT.
+class BillingAnalytics {
+
+    private static final int LEAF_SIZE = 10_000;
+
+    static class RevenueReport {
+        final int billCount;
+        final long totalCents;
+        // Legacy bills carry no date and only count towards the totals
+        final long undatedCents;
+        final int firstDay;
+        final long[] dailyCents;
+        final Map<YearMonth, Long> monthlyCents;
+        final Map<Long, Long> doctorCents;
+
+        RevenueReport(Partial p, Map<Long, LongAdder> byDoctor) {
+            billCount = p.count;
+            totalCents = p.totalCents;
+            undatedCents = p.undatedCents;
+            firstDay = p.firstDay;
+            dailyCents = p.dailyCents;
+
+            Map<YearMonth, Long> months = new LinkedHashMap<>();
+            for (int i = 0; i < dailyCents.length; i++) {
+                if (dailyCents[i] == 0) continue;
+                YearMonth month = YearMonth.from(LocalDate.ofEpochDay(firstDay + i));
+                months.merge(month, dailyCents[i], Long::sum);
+            }
+            monthlyCents = Collections.unmodifiableMap(months);
+
+            Map<Long, Long> doctors = new LinkedHashMap<>();
+            byDoctor.forEach((id, cents) -> doctors.put(id, cents.sum()));
+            doctorCents = Collections.unmodifiableMap(doctors);
+        }
+    }
+
+    public static RevenueReport aggregate(List<HMSNeumorphicAppModern.Bill> bills) {
+        Map<Long, LongAdder> byDoctor = new ConcurrentHashMap<>();
+        Partial total = ForkJoinPool.commonPool().invoke(new SumTask(bills, 0, bills.size(), byDoctor));
+        return new RevenueReport(total, byDoctor);
+    }
+
+    // Sums for one slice of the list; dailyCents[i] is the revenue of day firstDay + i
+    private static class Partial {
+        int count;
+        long totalCents;
+        long undatedCents;
+        int firstDay;
+        long[] dailyCents = new long[0];
+
+        Partial merge(Partial other) {
+            count += other.count;
+            totalCents += other.totalCents;
+            undatedCents += other.undatedCents;
+            if (other.dailyCents.length == 0) return this;
+            if (dailyCents.length == 0) {
+                firstDay = other.firstDay;
+                dailyCents = other.dailyCents;
+                return this;
+            }
+
+            int first = Math.min(firstDay, other.firstDay);
+            int last = Math.max(firstDay + dailyCents.length, other.firstDay + other.dailyCents.length);
+            long[] merged = new long[last - first];
+            System.arraycopy(dailyCents, 0, merged, firstDay - first, dailyCents.length);
+            for (int i = 0, offset = other.firstDay - first; i < other.dailyCents.length; i++) {
+                merged[offset + i] += other.dailyCents[i];
+            }
+            firstDay = first;
+            dailyCents = merged;
+            return this;
+        }
+    }
+
+    private static class SumTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<HMSNeumorphicAppModern.Bill> bills;
+        private final int from, to;
+        private final Map<Long, LongAdder> byDoctor;
+
+        SumTask(List<HMSNeumorphicAppModern.Bill> bills, int from, int to, Map<Long, LongAdder> byDoctor) {
+            this.bills = bills;
+            this.from = from;
+            this.to = to;
+            this.byDoctor = byDoctor;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                SumTask left = new SumTask(bills, from, mid, byDoctor);
+                left.fork();
+                Partial right = new SumTask(bills, mid, to, byDoctor).compute();
+                return left.join().merge(right);
+            }
+
+            // First pass finds the slice's date range so the second can index a dense array
+            int minDay = Integer.MAX_VALUE, maxDay = Integer.MIN_VALUE;
+            for (int i = from; i < to; i++) {
+                int day = bills.get(i).epochDay;
+                if (day == HMSNeumorphicAppModern.Bill.NO_DATE) continue;
+                minDay = Math.min(minDay, day);
+                maxDay = Math.max(maxDay, day);
+            }
+
+            Partial p = new Partial();
+            if (minDay <= maxDay) {
+                p.firstDay = minDay;
+                p.dailyCents = new long[maxDay - minDay + 1];
+            }
+            for (int i = from; i < to; i++) {
+                HMSNeumorphicAppModern.Bill b = bills.get(i);
+                p.count++;
+                p.totalCents += b.totalCents;
+                if (b.epochDay == HMSNeumorphicAppModern.Bill.NO_DATE) {
+                    p.undatedCents += b.totalCents;
+                } else {
+                    p.dailyCents[b.epochDay - minDay] += b.totalCents;
+                }
+                if (b.doctorId > 0) byDoctor.computeIfAbsent(b.doctorId, id -> new LongAdder()).add(b.totalCents);
+            }
+            return p;
+        }
+    }
+}
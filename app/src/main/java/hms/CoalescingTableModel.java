@@ -0,0 +1,81 @@
+package hms;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+// ==================================================
+// COALESCING TABLE MODEL
+// ==================================================
+// Base for the shared entity models. Appends and updates are recorded and
+// announced in one fireTableRowsInserted / fireTableRowsUpdated per burst,
+// on the next EDT turn. The row count seen by views only grows when the
+// insert event fires, so views and sorters never see rows they weren't told
+// about. All methods are EDT-only.
+abstract class CoalescingTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private int visibleRows;
+    private int pendingRows;
+    private int dirtyFirst = Integer.MAX_VALUE;
+    private int dirtyLast = -1;
+    private boolean flushQueued;
+
+    @Override
+    public int getRowCount() {
+        return visibleRows;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    // Rows were appended to the end of the underlying data
+    public void rowsAppended(int count) {
+        if (count <= 0) return;
+        pendingRows += count;
+        scheduleFlush();
+    }
+
+    // Rows already in the model changed
+    public void rowsChanged(int first, int last) {
+        dirtyFirst = Math.min(dirtyFirst, first);
+        dirtyLast = Math.max(dirtyLast, last);
+        scheduleFlush();
+    }
+
+    // Replaces the whole row set at once, dropping anything pending
+    protected void resetRows(int count) {
+        visibleRows = pendingRows = count;
+        dirtyFirst = Integer.MAX_VALUE;
+        dirtyLast = -1;
+        fireTableDataChanged();
+    }
+
+    // Called just before views are told about appended rows
+    protected void rowsWillBeInserted(int first, int last) {
+    }
+
+    private void scheduleFlush() {
+        if (flushQueued) return;
+        flushQueued = true;
+        SwingUtilities.invokeLater(this::flush);
+    }
+
+    private void flush() {
+        flushQueued = false;
+
+        int last = Math.min(dirtyLast, visibleRows - 1);
+        if (dirtyFirst <= last) fireTableRowsUpdated(dirtyFirst, last);
+        dirtyFirst = Integer.MAX_VALUE;
+        dirtyLast = -1;
+
+        if (pendingRows > visibleRows) {
+            int first = visibleRows;
+            visibleRows = pendingRows;
+            rowsWillBeInserted(first, visibleRows - 1);
+            fireTableRowsInserted(first, visibleRows - 1);
+        }
+    }
+}
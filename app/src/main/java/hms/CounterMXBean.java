@@ -0,0 +1,8 @@
+package hms;
+
+// JMX view of a Metrics counter, registered as hms:type=Counter,name=<counter>
+public interface CounterMXBean {
+    long getValue();
+
+    void reset();
+}
@@ -0,0 +1,434 @@
+package hms;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// ==================================================
+// STREAMING CSV IMPORT
+// ==================================================
+// Bulk onboarding of patients or appointments from CSV, in the column names
+// TableExport writes (header row required, any order, extra columns such as
+// id ignored). Two stages overlap:
+//
+//   hms-import thread: parse CHUNK_SIZE records -> validate -> queue   (rejects -> report)
+//   calling thread:    take chunk -> DatabaseManager batched save
+//
+// The queue holds at most QUEUED_CHUNKS chunks, so memory stays flat and the
+// calling thread is the only one touching the connection. Rejected rows go to
+// a CSV report with one line per failing field.
+//
+//   java -jar hms-app.jar import patients clinic.csv [--db FILE] [--rejects FILE]
+final class CsvImport {
+
+    static final int CHUNK_SIZE = 5000;
+    private static final int QUEUED_CHUNKS = 4;
+    // Sentinel that ends the queue
+    private static final List<Object> END = Collections.emptyList();
+
+    static final class Result {
+        long read, imported, rejected, failed;
+
+        @Override
+        public String toString() {
+            return String.format("%,d rows read, %,d imported, %,d rejected%s", read, imported, rejected,
+                    failed > 0 ? String.format(", %,d failed to save", failed) : "");
+        }
+    }
+
+    // Column layout, validation and save for one table
+    private abstract static class Spec<T> {
+        final String[] columns;
+        final int required;
+
+        // The first `required` columns must be in the header
+        Spec(int required, String... columns) {
+            this.required = required;
+            this.columns = columns;
+        }
+
+        // fields follows `columns`; returns null after reporting problems to rejects
+        abstract T validate(String[] fields, Rejects rejects) throws IOException;
+
+        abstract int save(DatabaseManager db, List<T> chunk, DatabaseManager.BatchProgress progress);
+    }
+
+    private static final class PatientSpec extends Spec<HMSNeumorphicAppModern.Patient> {
+        PatientSpec() {
+            super(2, "name", "age", "gender", "blood_type", "phone", "email", "address",
+                    "emergency_contact", "medical_history", "allergies");
+        }
+
+        @Override
+        HMSNeumorphicAppModern.Patient validate(String[] f, Rejects rejects) throws IOException {
+            // Same rules as the Add Patient dialog
+            boolean ok = rejects.check(!f[0].isEmpty(), "name", f[0], "required");
+            ok &= rejects.check(Validators.isValidAge(f[1]), "age", f[1], f[1].isEmpty() ? "required" : "not a whole number from 1 to 150");
+            ok &= rejects.check(f[4].isEmpty() || Validators.isValidGhanaPhone(f[4]), "phone", f[4], "not a Ghana phone number (0[2-5] + 8 digits)");
+            ok &= rejects.check(f[5].isEmpty() || Validators.isValidEmail(f[5]), "email", f[5], "not an email address");
+            if (!ok) return null;
+            return new HMSNeumorphicAppModern.Patient(f[0], f[1], f[2], f[3], f[4], f[5], f[6], f[7], f[8], f[9]);
+        }
+
+        @Override
+        int save(DatabaseManager db, List<HMSNeumorphicAppModern.Patient> chunk, DatabaseManager.BatchProgress progress) {
+            return db.savePatients(chunk, progress);
+        }
+    }
+
+    private static final class AppointmentSpec extends Spec<HMSNeumorphicAppModern.Appointment> {
+        // Sorted existing ids; the foreign keys would otherwise fail a whole chunk
+        private final long[] patientIds, doctorIds;
+
+        AppointmentSpec(long[] patientIds, long[] doctorIds) {
+            super(4, "patient_name", "doctor_name", "date", "time", "type", "notes", "patient_id", "doctor_id");
+            this.patientIds = patientIds;
+            this.doctorIds = doctorIds;
+        }
+
+        @Override
+        HMSNeumorphicAppModern.Appointment validate(String[] f, Rejects rejects) throws IOException {
+            // Same rules as the Book Appointment dialog
+            boolean ok = rejects.check(!f[0].isEmpty(), "patient_name", f[0], "required");
+            ok &= rejects.check(!f[1].isEmpty(), "doctor_name", f[1], "required");
+            int day = Validators.toEpochDay(f[2]);
+            ok &= rejects.check(day != Validators.NO_DATE, "date", f[2], "not a dd/MM/yyyy date");
+            ok &= rejects.check(Validators.isValidTime(f[3]), "time", f[3], "not an HH:MM time");
+            long patientId = reference(f[6], patientIds);
+            ok &= rejects.check(patientId >= 0, "patient_id", f[6], "no such patient");
+            long doctorId = reference(f[7], doctorIds);
+            ok &= rejects.check(doctorId >= 0, "doctor_id", f[7], "no such doctor");
+            if (!ok) return null;
+
+            HMSNeumorphicAppModern.Appointment a = new HMSNeumorphicAppModern.Appointment(
+                    f[0], f[1], f[4], f[2], f[3], f[5], day, HMSNeumorphicAppModern.Appointment.toMinuteOfDay(f[3]));
+            a.patientId = patientId;
+            a.doctorId = doctorId;
+            return a;
+        }
+
+        // 0 for blank (stored as NULL), -1 when not an existing id
+        private static long reference(String value, long[] ids) {
+            if (value.isEmpty()) return 0;
+            long id = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < '0' || c > '9' || i > 17) return -1;
+                id = id * 10 + c - '0';
+            }
+            return Arrays.binarySearch(ids, id) >= 0 ? id : -1;
+        }
+
+        @Override
+        int save(DatabaseManager db, List<HMSNeumorphicAppModern.Appointment> chunk,
+                 DatabaseManager.BatchProgress progress) {
+            return db.saveAppointments(chunk, progress);
+        }
+    }
+
+    // Reject report: line,field,value,reason
+    private static final class Rejects {
+        private final Writer out;
+        private long line;
+
+        Rejects(Writer out) throws IOException {
+            this.out = out;
+            out.write("line,field,value,reason\n");
+        }
+
+        void startRow(long line) {
+            this.line = line;
+        }
+
+        boolean check(boolean valid, String field, String value, String reason) throws IOException {
+            if (!valid) reject(field, value, reason);
+            return valid;
+        }
+
+        void reject(String field, String value, String reason) throws IOException {
+            out.write(Long.toString(line));
+            out.write(',');
+            out.write(field);
+            out.write(',');
+            writeQuoted(value);
+            out.write(',');
+            out.write(reason);
+            out.write('\n');
+        }
+
+        private void writeQuoted(String value) throws IOException {
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+    }
+
+    private CsvImport() {}
+
+    // Imports every record of in into table; rejects receives the report. Runs the
+    // writes on the calling thread, which must own db.
+    static Result importCsv(DatabaseManager db, TableExport.Table table, Reader in, Writer rejects) throws IOException {
+        return importCsv(db, table, in, rejects, null);
+    }
+
+    // The same, telling progress after each committed chunk with the rows imported so far;
+    // the total is -1 as the input is still being read
+    static Result importCsv(DatabaseManager db, TableExport.Table table, Reader in, Writer rejects,
+                            DatabaseManager.BatchProgress progress) throws IOException {
+        Spec<?> spec;
+        switch (table) {
+            case PATIENTS: spec = new PatientSpec(); break;
+            case APPOINTMENTS: spec = new AppointmentSpec(db.loadPatientIds(), db.loadDoctorIds()); break;
+            default: throw new IllegalArgumentException("Import of " + table.name().toLowerCase(Locale.ROOT) + " is not supported");
+        }
+        // One transaction per queued chunk
+        int batchSize = db.getBatchSize();
+        db.setBatchSize(Math.max(batchSize, CHUNK_SIZE));
+        try {
+            return run(db, spec, new CsvReader(in), new Rejects(rejects), progress);
+        } finally {
+            db.setBatchSize(batchSize);
+        }
+    }
+
+    private static <T> Result run(DatabaseManager db, Spec<T> spec, CsvReader csv, Rejects rejects,
+                                  DatabaseManager.BatchProgress progress) throws IOException {
+        // Header first, on this thread, so a wrong file fails before anything is written
+        List<String> header = new ArrayList<>();
+        if (!csv.next(header)) throw new IOException("Empty file");
+        int[] source = new int[spec.columns.length];
+        for (int c = 0; c < spec.columns.length; c++) {
+            source[c] = -1;
+            for (int h = 0; h < header.size(); h++) {
+                if (header.get(h).trim().toLowerCase(Locale.ROOT).replace(' ', '_').equals(spec.columns[c])) source[c] = h;
+            }
+            if (source[c] < 0 && c < spec.required) throw new IOException("Missing column " + spec.columns[c]);
+        }
+
+        Result result = new Result();
+        BlockingQueue<List<T>> queue = new ArrayBlockingQueue<>(QUEUED_CHUNKS);
+        // Whatever stopped the validator early, rethrown here once it has been joined
+        Throwable[] failure = new Throwable[1];
+        @SuppressWarnings("unchecked")
+        List<T> end = (List<T>) END;
+
+        Thread validator = new Thread(() -> {
+            List<String> record = new ArrayList<>(header.size());
+            String[] fields = new String[spec.columns.length];
+            List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    long line = csv.line();
+                    if (!csv.next(record)) break;
+                    if (record.size() == 1 && record.get(0).isEmpty()) continue;
+                    result.read++;
+                    rejects.startRow(line);
+                    for (int c = 0; c < fields.length; c++) {
+                        fields[c] = source[c] >= 0 && source[c] < record.size() ? record.get(source[c]).trim() : "";
+                    }
+                    T row = spec.validate(fields, rejects);
+                    if (row == null) {
+                        result.rejected++;
+                        continue;
+                    }
+                    chunk.add(row);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        queue.put(chunk);
+                        chunk = new ArrayList<>(CHUNK_SIZE);
+                    }
+                }
+                if (!chunk.isEmpty()) queue.put(chunk);
+            } catch (InterruptedException e) {
+                // The writer has given up; nobody is waiting for the sentinel
+                interrupted = true;
+            } catch (Throwable e) {
+                failure[0] = e;
+            } finally {
+                // Ends the queue however the loop stopped, or the writer would wait forever
+                if (!interrupted) {
+                    try {
+                        queue.put(end);
+                    } catch (InterruptedException ignored) {
+                        // As above
+                    }
+                }
+            }
+        }, "hms-import");
+        validator.setDaemon(true);
+        validator.start();
+
+        // Counts from this import rather than from the one chunk each save is given
+        DatabaseManager.BatchProgress imported = progress == null ? null
+                : (chunkRows, saved, total, chunkNanos) ->
+                        progress.chunkCommitted(chunkRows, (int) result.imported + saved, -1, chunkNanos);
+        try {
+            for (List<T> chunk = queue.take(); chunk != end; chunk = queue.take()) {
+                int saved = spec.save(db, chunk, imported);
+                result.imported += saved;
+                result.failed += chunk.size() - saved;
+            }
+            validator.join();
+        } catch (InterruptedException e) {
+            validator.interrupt();
+            Thread.currentThread().interrupt();
+            throw new IOException("Import interrupted", e);
+        } catch (RuntimeException | Error e) {
+            // A failed save: stop the validator, which may be blocked on a full queue
+            validator.interrupt();
+            throw e;
+        }
+        // join() makes the validator's counts and failure visible here
+        Throwable e = failure[0];
+        if (e instanceof IOException) throw (IOException) e;
+        if (e instanceof RuntimeException) throw (RuntimeException) e;
+        if (e instanceof Error) throw (Error) e;
+        return result;
+    }
+
+    // RFC 4180 records: quoted fields may hold commas, doubled quotes and line breaks
+    private static final class CsvReader {
+        private final Reader in;
+        private final char[] buf = new char[64 * 1024];
+        private int pos, len;
+        private long line = 1;
+        private final StringBuilder field = new StringBuilder();
+
+        CsvReader(Reader in) throws IOException {
+            this.in = in;
+            if (peek() == '\uFEFF') pos++;
+        }
+
+        // Line number the next record starts on
+        long line() {
+            return line;
+        }
+
+        boolean next(List<String> record) throws IOException {
+            record.clear();
+            if (peek() < 0) return false;
+            field.setLength(0);
+            boolean quoted = false;
+            while (true) {
+                int c = read();
+                if (quoted) {
+                    if (c < 0) throw new IOException("Unterminated quoted field on line " + line);
+                    if (c == '"') {
+                        if (peek() == '"') {
+                            pos++;
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') line++;
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c < 0) {
+                    if (c == '\r' && peek() == '\n') pos++;
+                    if (c >= 0) line++;
+                    record.add(field.toString());
+                    return true;
+                } else {
+                    field.append((char) c);
+                }
+            }
+        }
+
+        private int read() throws IOException {
+            int c = peek();
+            if (c >= 0) pos++;
+            return c;
+        }
+
+        private int peek() throws IOException {
+            if (pos == len) {
+                len = in.read(buf, 0, buf.length);
+                pos = 0;
+                if (len <= 0) {
+                    len = 0;
+                    return -1;
+                }
+            }
+            return buf[pos];
+        }
+    }
+
+    // Headless entry point behind `import`; returns the process exit code
+    static int run(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        String db = "hospital_data.db";
+        String rejectsFile = null;
+        TableExport.Table table;
+        String inFile;
+        try {
+            if (args.length < 2) throw new IllegalArgumentException("Missing table or file");
+            table = TableExport.Table.valueOf(args[0].toUpperCase(Locale.ROOT));
+            if (table == TableExport.Table.BILLS) throw new IllegalArgumentException("Bills cannot be imported");
+            inFile = args[1];
+            for (int i = 2; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--db": db = value; break;
+                    case "--rejects": rejectsFile = value; break;
+                    default: throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+                i++;
+            }
+            if (db == null) throw new IllegalArgumentException("Bad option value");
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: import patients|appointments FILE.csv [--db FILE] [--rejects FILE]");
+            return 2;
+        }
+        if (!new File(inFile).isFile()) {
+            System.err.println(inFile + " not found");
+            return 1;
+        }
+        if (rejectsFile == null) rejectsFile = inFile + ".rejects.csv";
+
+        long started = System.nanoTime();
+        DatabaseManager manager = new DatabaseManager(db);
+        try {
+            Result result = importFile(manager, table, Paths.get(inFile), Paths.get(rejectsFile),
+                    (chunkRows, saved, total, chunkNanos) -> System.err.printf("%,d imported  (%,.0f rows/s)%n",
+                            saved, DatabaseManager.BatchProgress.rowsPerSecond(chunkRows, chunkNanos)));
+            System.err.printf("%s in %.1f s%n", result, (System.nanoTime() - started) / 1e9);
+            if (result.rejected > 0) System.err.println("Rejected rows are listed in " + rejectsFile);
+            return result.failed > 0 ? 1 : 0;
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Import failed: " + e.getMessage());
+            return 1;
+        } finally {
+            manager.close();
+        }
+    }
+
+    static Result importFile(DatabaseManager db, TableExport.Table table, Path in, Path rejects,
+                             DatabaseManager.BatchProgress progress) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(in, StandardCharsets.UTF_8);
+             BufferedWriter report = Files.newBufferedWriter(rejects, StandardCharsets.UTF_8)) {
+            return importCsv(db, table, reader, report, progress);
+        }
+    }
+}
@@ -0,0 +1,936 @@
+package hms;
+
+import javax.swing.JOptionPane;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.List;
+import java.util.function.ObjLongConsumer;
+
+// ==================================================
+// DATABASE ARCHITECTURE
+// ==================================================
+class DatabaseManager {
+    private static final String INSERT_PATIENT =
+            "INSERT INTO patients (name, age, gender, blood_type, phone, email, address, emergency_contact, medical_history, allergies) VALUES (?,?,?,?,?,?,?,?,?,?)";
+    private static final String INSERT_DOCTOR =
+            "INSERT INTO doctors (name, specialty, phone) VALUES (?,?,?)";
+    private static final String INSERT_APPOINTMENT =
+            "INSERT INTO appointments (patient_name, doctor_name, type, date, time, notes, patient_id, doctor_id, epoch_day, minute_of_day) VALUES (?,?,?,?,?,?,?,?,?,?)";
+    private static final String INSERT_BILL =
+            "INSERT INTO bills (patient_name, total_cents, patient_id, doctor_id, epoch_day) VALUES (?,?,?,?,?)";
+    private static final String INSERT_BILL_ITEM =
+            "INSERT INTO bill_items (bill_id, service_id, price_cents) VALUES (?,?,?) "
+                    + "ON CONFLICT (bill_id, service_id) DO UPDATE SET quantity = quantity + 1";
+
+    // Export queries, one row per record in id order. Bills list their services as
+    // "name x quantity" through the bill_items primary key, one bill at a time.
+    private static final String EXPORT_PATIENTS =
+            "SELECT id, name, age, gender, blood_type, phone, email, address, emergency_contact, medical_history, allergies "
+                    + "FROM patients ORDER BY id";
+    private static final String EXPORT_APPOINTMENTS =
+            "SELECT id, patient_id, patient_name, doctor_id, doctor_name, type, date, time, notes "
+                    + "FROM appointments ORDER BY id";
+    private static final String EXPORT_BILLS =
+            "SELECT b.id, b.patient_id, b.patient_name, b.doctor_id, date(b.epoch_day * 86400, 'unixepoch') AS bill_date, "
+                    + "b.total_cents, (SELECT group_concat(s.name || ' x' || i.quantity, '; ') FROM bill_items i "
+                    + "JOIN services s ON s.id = i.service_id WHERE i.bill_id = b.id) AS services "
+                    + "FROM bills b ORDER BY b.id";
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private static final String SELECT_SLOT =
+            "SELECT 1 FROM appointments WHERE doctor_id = ? AND epoch_day = ? AND minute_of_day BETWEEN ? AND ? LIMIT 1";
+
+    static final int DEFAULT_PAGE_SIZE = 200;
+
+    // List views show only these columns; the rest of a patient is read by loadPatient when opened
+    private static final String SELECT_PATIENT_SUMMARIES = "SELECT id, name, age, gender, blood_type, phone, email FROM patients ";
+    private static final int PATIENT_CACHE_SIZE = 512;
+
+    private SqliteConnections connections;
+    private volatile int pageSize = DEFAULT_PAGE_SIZE;
+    private volatile int batchSize = 1000;
+    // Only touched on the writer thread
+    private final Map<String, Long> serviceIds = new HashMap<>();
+    // Full patient records recently opened, by id; patient writes invalidate them
+    private final LruCache<Long, HMSNeumorphicAppModern.Patient> patientCache = new LruCache<>("patientDetails", PATIENT_CACHE_SIZE);
+
+    // Told about each committed chunk of a bulk save: the chunk's row count, the rows saved
+    // so far out of total (-1 when the caller streams and doesn't know it) and how long the
+    // chunk took to write and commit. Called on the thread running the save.
+    interface BatchProgress {
+        void chunkCommitted(int chunkRows, int saved, int total, long chunkNanos);
+
+        static double rowsPerSecond(int chunkRows, long chunkNanos) {
+            return chunkNanos > 0 ? chunkRows * 1e9 / chunkNanos : chunkRows;
+        }
+    }
+
+    // Binds one row's values onto an insert statement
+    private interface RowBinder<T> {
+        void bind(PreparedStatement stmt, T row) throws SQLException;
+    }
+
+    // Writes rows that depend on a chunk's generated ids, inside the chunk's transaction
+    private interface ChunkWriter<T> {
+        void write(SqliteConnections.Handle tx, List<T> chunk) throws SQLException;
+    }
+
+    // Binds a query's parameters
+    private interface Params {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+
+    private interface RowReader<T> {
+        T read(ResultSet rs) throws SQLException;
+    }
+
+    // One step of the schema history; runs inside its own transaction
+    private interface Migration {
+        void apply(Statement stmt) throws SQLException;
+    }
+
+    // Schema versions in order. PRAGMA user_version records how many have been applied,
+    // so existing hospital_data.db files are upgraded in place on open. Append only.
+    private static final List<Migration> MIGRATIONS = Arrays.asList(
+            // 1: original schema
+            sql("CREATE TABLE IF NOT EXISTS patients (id INTEGER PRIMARY KEY, name TEXT, age TEXT, gender TEXT, blood_type TEXT, phone TEXT, email TEXT, address TEXT, emergency_contact TEXT, medical_history TEXT, allergies TEXT)",
+                "CREATE TABLE IF NOT EXISTS doctors (id INTEGER PRIMARY KEY, name TEXT, specialty TEXT, phone TEXT)",
+                "CREATE TABLE IF NOT EXISTS appointments (id INTEGER PRIMARY KEY, patient_name TEXT, doctor_name TEXT, type TEXT, date TEXT, time TEXT, notes TEXT)",
+                "CREATE TABLE IF NOT EXISTS bills (id INTEGER PRIMARY KEY, patient_name TEXT, services TEXT, total REAL)"),
+            // 2: id-based foreign keys, backfilled from the free-text names, plus lookup indexes.
+            // The name columns stay as a display snapshot; rows whose name matched nobody keep a NULL id.
+            sql("CREATE INDEX IF NOT EXISTS idx_patients_name ON patients(name)",
+                "CREATE INDEX IF NOT EXISTS idx_doctors_name ON doctors(name)",
+                "ALTER TABLE appointments ADD COLUMN patient_id INTEGER REFERENCES patients(id)",
+                "ALTER TABLE appointments ADD COLUMN doctor_id INTEGER REFERENCES doctors(id)",
+                "ALTER TABLE bills ADD COLUMN patient_id INTEGER REFERENCES patients(id)",
+                "UPDATE appointments SET patient_id = (SELECT MIN(p.id) FROM patients p WHERE p.name = appointments.patient_name)",
+                "UPDATE appointments SET doctor_id = (SELECT MIN(d.id) FROM doctors d WHERE d.name = appointments.doctor_name)",
+                "UPDATE bills SET patient_id = (SELECT MIN(p.id) FROM patients p WHERE p.name = bills.patient_name)",
+                "CREATE INDEX IF NOT EXISTS idx_appointments_doctor_date ON appointments(doctor_id, date)",
+                "CREATE INDEX IF NOT EXISTS idx_appointments_patient ON appointments(patient_id)",
+                "CREATE INDEX IF NOT EXISTS idx_bills_patient ON bills(patient_id)"),
+            // 3: bill line items keyed by bill and service, replacing the serialized services column
+            sql("CREATE TABLE IF NOT EXISTS services (id INTEGER PRIMARY KEY, name TEXT NOT NULL UNIQUE, price REAL)",
+                "CREATE TABLE IF NOT EXISTS bill_items (bill_id INTEGER NOT NULL REFERENCES bills(id), "
+                        + "service_id INTEGER NOT NULL REFERENCES services(id), price REAL, "
+                        + "quantity INTEGER NOT NULL DEFAULT 1, PRIMARY KEY (bill_id, service_id)) WITHOUT ROWID",
+                "CREATE INDEX IF NOT EXISTS idx_bill_items_service ON bill_items(service_id)"),
+            // 4: the old serialized services strings moved into bill_items
+            DatabaseManager::migrateLegacyBillServices,
+            // 5: sortable epoch-day / minute-of-day columns next to the dd/MM/yyyy and HH:MM text
+            sql("ALTER TABLE appointments ADD COLUMN epoch_day INTEGER",
+                "ALTER TABLE appointments ADD COLUMN minute_of_day INTEGER",
+                "DROP INDEX IF EXISTS idx_appointments_doctor_date",
+                "CREATE INDEX IF NOT EXISTS idx_appointments_doctor_day ON appointments(doctor_id, epoch_day, minute_of_day)",
+                "CREATE INDEX IF NOT EXISTS idx_appointments_day ON appointments(epoch_day, minute_of_day)"),
+            // 6: epoch_day / minute_of_day filled in from the existing text
+            DatabaseManager::backfillAppointmentDays,
+            // 7: amounts as integer cents, plus the billing day and attending doctor for reports.
+            // The REAL columns are left in place for old files but no longer written.
+            sql("ALTER TABLE bills ADD COLUMN total_cents INTEGER",
+                "ALTER TABLE bills ADD COLUMN doctor_id INTEGER REFERENCES doctors(id)",
+                "ALTER TABLE bills ADD COLUMN epoch_day INTEGER",
+                "ALTER TABLE services ADD COLUMN price_cents INTEGER",
+                "ALTER TABLE bill_items ADD COLUMN price_cents INTEGER",
+                "UPDATE bills SET total_cents = CAST(ROUND(total * 100) AS INTEGER) WHERE total IS NOT NULL",
+                "UPDATE services SET price_cents = CAST(ROUND(price * 100) AS INTEGER) WHERE price IS NOT NULL",
+                "UPDATE bill_items SET price_cents = CAST(ROUND(price * 100) AS INTEGER) WHERE price IS NOT NULL",
+                "CREATE INDEX IF NOT EXISTS idx_bills_doctor ON bills(doctor_id)"),
+            // 8: default tariff, previously hardcoded in the UI; existing names keep their price
+            sql("INSERT OR IGNORE INTO services (name, price_cents) VALUES ('General Consultation', 15000), "
+                    + "('Blood Test', 7500), ('X-Ray', 20000), ('ECG', 10000), ('Ultrasound', 25000), "
+                    + "('Surgery', 150000), ('Physiotherapy', 18000)")
+    );
+
+    // Parses the old "name:$price," strings one last time and moves them into bill_items
+    private static void migrateLegacyBillServices(Statement stmt) throws SQLException {
+        Connection c = stmt.getConnection();
+        try (ResultSet rs = stmt.executeQuery("SELECT id, services FROM bills WHERE services IS NOT NULL");
+             PreparedStatement service = c.prepareStatement("INSERT OR IGNORE INTO services (name, price) VALUES (?,?)");
+             PreparedStatement serviceId = c.prepareStatement("SELECT id FROM services WHERE name = ?");
+             PreparedStatement item = c.prepareStatement(
+                     "INSERT INTO bill_items (bill_id, service_id, price) VALUES (?,?,?) "
+                             + "ON CONFLICT (bill_id, service_id) DO UPDATE SET quantity = quantity + 1")) {
+            while (rs.next()) {
+                for (String part : rs.getString("services").split(",")) {
+                    String[] serviceParts = part.split(":\\$");
+                    if (serviceParts.length != 2) continue;
+                    double price = Double.parseDouble(serviceParts[1]);
+
+                    service.setString(1, serviceParts[0]);
+                    service.setDouble(2, price);
+                    service.executeUpdate();
+                    serviceId.setString(1, serviceParts[0]);
+                    try (ResultSet id = serviceId.executeQuery()) {
+                        id.next();
+                        item.setLong(1, rs.getLong("id"));
+                        item.setLong(2, id.getLong(1));
+                        item.setDouble(3, price);
+                        item.addBatch();
+                    }
+                }
+            }
+            item.executeBatch();
+        }
+    }
+
+    // Rows whose text doesn't parse keep NULLs and simply never match a range query
+    private static void backfillAppointmentDays(Statement stmt) throws SQLException {
+        Connection c = stmt.getConnection();
+        try (ResultSet rs = stmt.executeQuery("SELECT id, date, time FROM appointments");
+             PreparedStatement update = c.prepareStatement(
+                     "UPDATE appointments SET epoch_day = ?, minute_of_day = ? WHERE id = ?")) {
+            while (rs.next()) {
+                String date = rs.getString("date");
+                String time = rs.getString("time");
+                setInt(update, 1, date == null ? HMSNeumorphicAppModern.Appointment.NO_DATE
+                        : HMSNeumorphicAppModern.Appointment.toEpochDay(date), HMSNeumorphicAppModern.Appointment.NO_DATE);
+                setInt(update, 2, time == null ? HMSNeumorphicAppModern.Appointment.NO_TIME
+                        : HMSNeumorphicAppModern.Appointment.toMinuteOfDay(time), HMSNeumorphicAppModern.Appointment.NO_TIME);
+                update.setLong(3, rs.getLong("id"));
+                update.addBatch();
+            }
+            update.executeBatch();
+        }
+    }
+
+    private static Migration sql(String... statements) {
+        return stmt -> {
+            for (String sql : statements) {
+                stmt.execute(sql);
+            }
+        };
+    }
+
+    public DatabaseManager() {
+        this("hospital_data.db");
+    }
+
+    // Opens (creating and migrating if needed) the SQLite file at path
+    public DatabaseManager(String path) {
+        try {
+            connections = new SqliteConnections(path, SqliteConnections.DEFAULT_READERS);
+            connections.write(this::migrate);
+        } catch (SQLException e) {
+            JOptionPane.showMessageDialog(null, "Database error: " + e.getMessage());
+        }
+    }
+
+    // Applies every migration newer than the file's user_version, one transaction each
+    private Void migrate(SqliteConnections.Handle writer) throws SQLException {
+        Connection conn = writer.connection;
+        int version;
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            version = rs.next() ? rs.getInt(1) : 0;
+        }
+
+        for (int v = version; v < MIGRATIONS.size(); v++) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                MIGRATIONS.get(v).apply(stmt);
+                stmt.execute("PRAGMA user_version = " + (v + 1));
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                // Rolled back before the finally turns autocommit on, which would commit the partial step
+                conn.rollback();
+                throw new SQLException("Schema migration " + (v + 1) + " failed: " + e.getMessage(), e);
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        return null;
+    }
+
+    // Writes go through the connection layer's writer thread. Service ids cached by an
+    // attempt that failed may belong to rolled-back rows, so they are dropped before a retry.
+    private <T> T write(SqliteConnections.Work<T> work) throws SQLException {
+        return connections.write(writer -> {
+            try {
+                return work.run(writer);
+            } catch (SQLException | RuntimeException e) {
+                serviceIds.clear();
+                throw e;
+            }
+        });
+    }
+
+    // Runs a query on a read connection; on failure logs it and returns the rows read so far
+    private <T> List<T> query(String sql, Params params, RowReader<T> reader, List<T> rows) {
+        try {
+            connections.read(h -> {
+                PreparedStatement stmt = h.prepare(sql);
+                params.bind(stmt);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(reader.read(rs));
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return rows;
+    }
+
+    private static final Params NO_PARAMS = stmt -> { };
+
+    // Page size used by the keyset-paginated loaders
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(int pageSize) {
+        if (pageSize <= 0) throw new IllegalArgumentException("Page size must be positive");
+        this.pageSize = pageSize;
+    }
+
+    // Rows per transaction used by the bulk save methods
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) throw new IllegalArgumentException("Batch size must be positive");
+        this.batchSize = batchSize;
+    }
+
+    // Patient CRUD operations
+    // The single-row saves throw on failure and leave the id at 0, so callers never show an unsaved row
+    public void savePatient(HMSNeumorphicAppModern.Patient p) throws SQLException {
+        p.id = write(writer -> insert(writer, INSERT_PATIENT, stmt -> bindPatient(stmt, p)));
+        patientCache.invalidate(p.id);
+    }
+
+    public int savePatients(Collection<HMSNeumorphicAppModern.Patient> patients) {
+        return savePatients(patients, null);
+    }
+
+    public int savePatients(Collection<HMSNeumorphicAppModern.Patient> patients, BatchProgress progress) {
+        try {
+            return saveInBatches(INSERT_PATIENT, patients, this::bindPatient, (p, id) -> p.id = id, null, progress);
+        } finally {
+            patientCache.clear();
+        }
+    }
+
+    private void bindPatient(PreparedStatement stmt, HMSNeumorphicAppModern.Patient p) throws SQLException {
+        stmt.setString(1, p.name);
+        stmt.setString(2, p.age);
+        stmt.setString(3, p.gender);
+        stmt.setString(4, p.bloodType);
+        stmt.setString(5, p.phone);
+        stmt.setString(6, p.email);
+        stmt.setString(7, p.address);
+        stmt.setString(8, p.emergency);
+        stmt.setString(9, p.medicalHistory);
+        stmt.setString(10, p.allergies);
+    }
+
+    public List<HMSNeumorphicAppModern.Patient> loadPatients() {
+        return query("SELECT * FROM patients ORDER BY id", NO_PARAMS, this::readPatient, new ArrayList<>());
+    }
+
+    // Every patient as a summary (see readPatientSummary), in id order
+    public List<HMSNeumorphicAppModern.Patient> loadPatientSummaries() {
+        return query(SELECT_PATIENT_SUMMARIES + "ORDER BY id", NO_PARAMS, this::readPatientSummary, new ArrayList<>());
+    }
+
+    // Returns the next page of patients with id greater than afterId, in id order
+    public List<HMSNeumorphicAppModern.Patient> loadPatientsPage(long afterId) {
+        int limit = pageSize;
+        return query("SELECT * FROM patients WHERE id > ? ORDER BY id LIMIT ?", stmt -> {
+            stmt.setLong(1, afterId);
+            stmt.setInt(2, limit);
+        }, this::readPatient, new ArrayList<>(limit));
+    }
+
+    // Summary page for list views: the next patients with id greater than afterId, in id order
+    public List<HMSNeumorphicAppModern.Patient> loadPatientSummariesPage(long afterId) {
+        int limit = pageSize;
+        return query(SELECT_PATIENT_SUMMARIES + "WHERE id > ? ORDER BY id LIMIT ?", stmt -> {
+            stmt.setLong(1, afterId);
+            stmt.setInt(2, limit);
+        }, this::readPatientSummary, new ArrayList<>(limit));
+    }
+
+    public int countPatients() {
+        return count("patients");
+    }
+
+    // One full patient by id, or null; served from the cache when recently opened
+    public HMSNeumorphicAppModern.Patient loadPatient(long id) {
+        HMSNeumorphicAppModern.Patient cached = patientCache.get(id);
+        if (cached != null) return cached;
+        long stamp = patientCache.stamp();
+        List<HMSNeumorphicAppModern.Patient> found = query("SELECT * FROM patients WHERE id = ?",
+                stmt -> stmt.setLong(1, id), this::readPatient, new ArrayList<>(1));
+        if (found.isEmpty()) return null;
+        patientCache.put(id, found.get(0), stamp);
+        return found.get(0);
+    }
+
+    // The cached full patient, or null without touching the database
+    public HMSNeumorphicAppModern.Patient cachedPatient(long id) {
+        return patientCache.peek(id);
+    }
+
+    public long[] loadPatientIds() {
+        return loadIds("patients");
+    }
+
+    public long[] loadPatientPageEnds(int pageSize) {
+        return pageEnds("patients", pageSize);
+    }
+
+    private HMSNeumorphicAppModern.Patient readPatient(ResultSet rs) throws SQLException {
+        HMSNeumorphicAppModern.Patient p = new HMSNeumorphicAppModern.Patient(
+                rs.getString("name"), rs.getString("age"), rs.getString("gender"),
+                rs.getString("blood_type"), rs.getString("phone"), rs.getString("email"),
+                rs.getString("address"), rs.getString("emergency_contact"),
+                rs.getString("medical_history"), rs.getString("allergies")
+        );
+        p.id = rs.getLong("id");
+        return p;
+    }
+
+    // Address, emergency contact, medical history and allergies are left null
+    private HMSNeumorphicAppModern.Patient readPatientSummary(ResultSet rs) throws SQLException {
+        HMSNeumorphicAppModern.Patient p = new HMSNeumorphicAppModern.Patient(
+                rs.getString("name"), rs.getString("age"), rs.getString("gender"),
+                rs.getString("blood_type"), rs.getString("phone"), rs.getString("email"),
+                null, null, null, null
+        );
+        p.id = rs.getLong("id");
+        return p;
+    }
+
+    // Doctor CRUD operations
+    public void saveDoctor(HMSNeumorphicAppModern.Doctor d) throws SQLException {
+        d.id = write(writer -> insert(writer, INSERT_DOCTOR, stmt -> bindDoctor(stmt, d)));
+    }
+
+    public int saveDoctors(Collection<HMSNeumorphicAppModern.Doctor> doctors) {
+        return saveDoctors(doctors, null);
+    }
+
+    public int saveDoctors(Collection<HMSNeumorphicAppModern.Doctor> doctors, BatchProgress progress) {
+        return saveInBatches(INSERT_DOCTOR, doctors, this::bindDoctor, (d, id) -> d.id = id, null, progress);
+    }
+
+    private void bindDoctor(PreparedStatement stmt, HMSNeumorphicAppModern.Doctor d) throws SQLException {
+        stmt.setString(1, d.name);
+        stmt.setString(2, d.specialty);
+        stmt.setString(3, d.phone);
+    }
+
+    public List<HMSNeumorphicAppModern.Doctor> loadDoctors() {
+        return query("SELECT * FROM doctors ORDER BY id", NO_PARAMS, this::readDoctor, new ArrayList<>());
+    }
+
+    // One doctor by id, or null
+    public HMSNeumorphicAppModern.Doctor loadDoctor(long id) {
+        List<HMSNeumorphicAppModern.Doctor> found = query("SELECT * FROM doctors WHERE id = ?",
+                stmt -> stmt.setLong(1, id), this::readDoctor, new ArrayList<>(1));
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private HMSNeumorphicAppModern.Doctor readDoctor(ResultSet rs) throws SQLException {
+        HMSNeumorphicAppModern.Doctor d = new HMSNeumorphicAppModern.Doctor(
+                rs.getString("name"), rs.getString("specialty"), rs.getString("phone")
+        );
+        d.id = rs.getLong("id");
+        return d;
+    }
+
+    public long[] loadDoctorIds() {
+        return loadIds("doctors");
+    }
+
+    // Appointment CRUD operations
+    public void saveAppointment(HMSNeumorphicAppModern.Appointment a) throws SQLException {
+        a.id = write(writer -> insert(writer, INSERT_APPOINTMENT, stmt -> bindAppointment(stmt, a)));
+    }
+
+    // Checks the doctor's slot and inserts in one write transaction, so two callers can't
+    // book the same slot. Returns false if it was taken, true once a.id is set; throws if the insert failed.
+    public boolean saveAppointmentIfFree(HMSNeumorphicAppModern.Appointment a) throws SQLException {
+        try {
+            return write(writer -> writer.inTransaction(tx -> {
+                if (slotTaken(tx, a.doctorId, a.epochDay, a.minuteOfDay)) return false;
+                a.id = insert(tx, INSERT_APPOINTMENT, stmt -> bindAppointment(stmt, a));
+                return true;
+            }));
+        } catch (SQLException | RuntimeException e) {
+            a.id = 0;
+            throw e;
+        }
+    }
+
+    public int saveAppointments(Collection<HMSNeumorphicAppModern.Appointment> appointments) {
+        return saveAppointments(appointments, null);
+    }
+
+    public int saveAppointments(Collection<HMSNeumorphicAppModern.Appointment> appointments, BatchProgress progress) {
+        return saveInBatches(INSERT_APPOINTMENT, appointments, this::bindAppointment, (a, id) -> a.id = id, null, progress);
+    }
+
+    private void bindAppointment(PreparedStatement stmt, HMSNeumorphicAppModern.Appointment a) throws SQLException {
+        stmt.setString(1, a.patient);
+        stmt.setString(2, a.doctor);
+        stmt.setString(3, a.type);
+        stmt.setString(4, a.date);
+        stmt.setString(5, a.time);
+        stmt.setString(6, a.notes);
+        setId(stmt, 7, a.patientId);
+        setId(stmt, 8, a.doctorId);
+        setInt(stmt, 9, a.epochDay, HMSNeumorphicAppModern.Appointment.NO_DATE);
+        setInt(stmt, 10, a.minuteOfDay, HMSNeumorphicAppModern.Appointment.NO_TIME);
+    }
+
+    public List<HMSNeumorphicAppModern.Appointment> loadAppointments() {
+        return query("SELECT * FROM appointments ORDER BY id", NO_PARAMS, this::readAppointment, new ArrayList<>());
+    }
+
+    // Every appointment straight into columns, without an Appointment object per row
+    public AppointmentStore loadAppointmentStore() {
+        try {
+            return connections.read(reader -> {
+                AppointmentStore store;
+                try (ResultSet rs = reader.prepare("SELECT COUNT(*) FROM appointments").executeQuery()) {
+                    store = new AppointmentStore(rs.next() ? rs.getInt(1) : 0);
+                }
+                try (ResultSet rs = reader.prepare("SELECT id, patient_id, doctor_id, patient_name, doctor_name, type, "
+                        + "date, time, notes, epoch_day, minute_of_day FROM appointments ORDER BY id").executeQuery()) {
+                    while (rs.next()) {
+                        store.add(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getString(4), rs.getString(5),
+                                rs.getString(6), rs.getString(7), rs.getString(8), rs.getString(9),
+                                getInt(rs, "epoch_day", HMSNeumorphicAppModern.Appointment.NO_DATE),
+                                getInt(rs, "minute_of_day", HMSNeumorphicAppModern.Appointment.NO_TIME));
+                    }
+                }
+                return store;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new AppointmentStore();
+    }
+
+    // Returns the next page of appointments with id greater than afterId, in id order
+    public List<HMSNeumorphicAppModern.Appointment> loadAppointmentsPage(long afterId) {
+        int limit = pageSize;
+        return query("SELECT * FROM appointments WHERE id > ? ORDER BY id LIMIT ?", stmt -> {
+            stmt.setLong(1, afterId);
+            stmt.setInt(2, limit);
+        }, this::readAppointment, new ArrayList<>(limit));
+    }
+
+    public int countAppointments() {
+        return count("appointments");
+    }
+
+    public long[] loadAppointmentPageEnds(int pageSize) {
+        return pageEnds("appointments", pageSize);
+    }
+
+    private HMSNeumorphicAppModern.Appointment readAppointment(ResultSet rs) throws SQLException {
+        HMSNeumorphicAppModern.Appointment a = new HMSNeumorphicAppModern.Appointment(
+                rs.getString("patient_name"), rs.getString("doctor_name"), rs.getString("type"),
+                rs.getString("date"), rs.getString("time"), rs.getString("notes"),
+                getInt(rs, "epoch_day", HMSNeumorphicAppModern.Appointment.NO_DATE),
+                getInt(rs, "minute_of_day", HMSNeumorphicAppModern.Appointment.NO_TIME)
+        );
+        a.id = rs.getLong("id");
+        a.patientId = rs.getLong("patient_id");
+        a.doctorId = rs.getLong("doctor_id");
+        return a;
+    }
+
+    // Inclusive date range in chronological order, served by idx_appointments_day
+    public List<HMSNeumorphicAppModern.Appointment> loadAppointmentsBetween(LocalDate from, LocalDate to) {
+        return query("SELECT * FROM appointments WHERE epoch_day BETWEEN ? AND ? ORDER BY epoch_day, minute_of_day", stmt -> {
+            stmt.setLong(1, from.toEpochDay());
+            stmt.setLong(2, to.toEpochDay());
+        }, this::readAppointment, new ArrayList<>());
+    }
+
+    // A doctor's caseload in chronological order, served by idx_appointments_doctor_day
+    public List<HMSNeumorphicAppModern.Appointment> loadAppointmentsForDoctor(long doctorId) {
+        return query("SELECT * FROM appointments WHERE doctor_id = ? ORDER BY epoch_day, minute_of_day, id",
+                stmt -> stmt.setLong(1, doctorId), this::readAppointment, new ArrayList<>());
+    }
+
+    // Summaries of the patients with at least one appointment with the doctor
+    public List<HMSNeumorphicAppModern.Patient> loadPatientSummariesForDoctor(long doctorId) {
+        return query(SELECT_PATIENT_SUMMARIES + "WHERE id IN (SELECT patient_id FROM appointments WHERE doctor_id = ?) ORDER BY id",
+                stmt -> stmt.setLong(1, doctorId), this::readPatientSummary, new ArrayList<>());
+    }
+
+    // Served by idx_appointments_patient
+    public List<HMSNeumorphicAppModern.Appointment> loadAppointmentsForPatient(long patientId) {
+        return query("SELECT * FROM appointments WHERE patient_id = ? ORDER BY id",
+                stmt -> stmt.setLong(1, patientId), this::readAppointment, new ArrayList<>());
+    }
+
+    // Whether the doctor already has an appointment in the slot holding minuteOfDay (see AvailabilityEngine)
+    private boolean slotTaken(SqliteConnections.Handle h, long doctorId, int epochDay, int minuteOfDay) throws SQLException {
+        int slotStart = minuteOfDay - minuteOfDay % AvailabilityEngine.SLOT_MINUTES;
+        PreparedStatement stmt = h.prepare(SELECT_SLOT);
+        stmt.setLong(1, doctorId);
+        stmt.setInt(2, epochDay);
+        stmt.setInt(3, slotStart);
+        stmt.setInt(4, slotStart + AvailabilityEngine.SLOT_MINUTES - 1);
+        try (ResultSet rs = stmt.executeQuery()) {
+            return rs.next();
+        }
+    }
+
+    // Billing CRUD operations
+    // The bill row and its line items are written in one transaction
+    public void saveBill(HMSNeumorphicAppModern.Bill b) throws SQLException {
+        try {
+            write(writer -> writer.inTransaction(tx -> {
+                b.id = insert(tx, INSERT_BILL, stmt -> bindBill(stmt, b));
+                saveBillItems(tx, Collections.singletonList(b));
+                return null;
+            }));
+        } catch (SQLException | RuntimeException e) {
+            // The insert may have set an id before the items failed and rolled it back
+            b.id = 0;
+            throw e;
+        }
+    }
+
+    public int saveBills(Collection<HMSNeumorphicAppModern.Bill> bills) {
+        return saveBills(bills, null);
+    }
+
+    public int saveBills(Collection<HMSNeumorphicAppModern.Bill> bills, BatchProgress progress) {
+        return saveInBatches(INSERT_BILL, bills, this::bindBill, (b, id) -> b.id = id, this::saveBillItems, progress);
+    }
+
+    private void bindBill(PreparedStatement stmt, HMSNeumorphicAppModern.Bill b) throws SQLException {
+        stmt.setString(1, b.patientName);
+        stmt.setLong(2, b.totalCents);
+        setId(stmt, 3, b.patientId);
+        setId(stmt, 4, b.doctorId);
+        setInt(stmt, 5, b.epochDay, HMSNeumorphicAppModern.Bill.NO_DATE);
+    }
+
+    private void saveBillItems(SqliteConnections.Handle tx, List<HMSNeumorphicAppModern.Bill> bills) throws SQLException {
+        PreparedStatement stmt = tx.prepare(INSERT_BILL_ITEM);
+        stmt.clearBatch();
+        for (HMSNeumorphicAppModern.Bill b : bills) {
+            for (HMSNeumorphicAppModern.Service s : b.services) {
+                stmt.setLong(1, b.id);
+                stmt.setLong(2, serviceId(tx, s));
+                stmt.setLong(3, s.priceCents);
+                stmt.addBatch();
+            }
+        }
+        stmt.executeBatch();
+    }
+
+    // Resolves a service to its catalog row, adding it the first time it is billed
+    private long serviceId(SqliteConnections.Handle tx, HMSNeumorphicAppModern.Service s) throws SQLException {
+        if (s.id > 0) return s.id;
+        Long id = serviceIds.get(s.name);
+        if (id == null) {
+            PreparedStatement insert = tx.prepare("INSERT OR IGNORE INTO services (name, price_cents) VALUES (?,?)");
+            insert.setString(1, s.name);
+            insert.setLong(2, s.priceCents);
+            insert.executeUpdate();
+            PreparedStatement select = tx.prepare("SELECT id FROM services WHERE name = ?");
+            select.setString(1, s.name);
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                id = rs.getLong(1);
+            }
+            serviceIds.put(s.name, id);
+        }
+        s.id = id;
+        return id;
+    }
+
+    // Service catalog
+    public void saveService(HMSNeumorphicAppModern.Service s) throws SQLException {
+        s.id = write(writer -> {
+            long id = insert(writer, "INSERT INTO services (name, price_cents) VALUES (?,?)", stmt -> {
+                stmt.setString(1, s.name);
+                stmt.setLong(2, s.priceCents);
+            });
+            serviceIds.put(s.name, id);
+            return id;
+        });
+    }
+
+    public List<HMSNeumorphicAppModern.Service> loadServices() {
+        return query("SELECT id, name, price_cents FROM services ORDER BY name", NO_PARAMS, rs -> {
+            HMSNeumorphicAppModern.Service s = new HMSNeumorphicAppModern.Service(rs.getString("name"), rs.getLong("price_cents"));
+            s.id = rs.getLong("id");
+            return s;
+        }, new ArrayList<>());
+    }
+
+    private static final String SELECT_BILLS =
+            "SELECT b.id, b.patient_name, b.total_cents, b.patient_id, b.doctor_id, b.epoch_day, "
+                    + "i.service_id, i.price_cents, i.quantity, s.name AS service_name "
+                    + "FROM bills b LEFT JOIN bill_items i ON i.bill_id = b.id "
+                    + "LEFT JOIN services s ON s.id = i.service_id ";
+
+    // Streams bills with their line items in one joined query, grouped by bill id
+    public List<HMSNeumorphicAppModern.Bill> loadBills() {
+        return queryBills(SELECT_BILLS + "ORDER BY b.id", NO_PARAMS, new ArrayList<>());
+    }
+
+    // Returns the next page of bills with id greater than afterId, in id order
+    public List<HMSNeumorphicAppModern.Bill> loadBillsPage(long afterId) {
+        int limit = pageSize;
+        return queryBills(SELECT_BILLS + "WHERE b.id IN (SELECT id FROM bills WHERE id > ? ORDER BY id LIMIT ?) ORDER BY b.id",
+                stmt -> {
+                    stmt.setLong(1, afterId);
+                    stmt.setInt(2, limit);
+                }, new ArrayList<>(limit));
+    }
+
+    private List<HMSNeumorphicAppModern.Bill> queryBills(String sql, Params params, List<HMSNeumorphicAppModern.Bill> bills) {
+        try {
+            connections.read(reader -> {
+                PreparedStatement stmt = reader.prepare(sql);
+                params.bind(stmt);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    readBills(rs, bills);
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return bills;
+    }
+
+    // Groups joined bill/line-item rows, ordered by bill id, into bills
+    private void readBills(ResultSet rs, List<HMSNeumorphicAppModern.Bill> bills) throws SQLException {
+        Map<Long, HMSNeumorphicAppModern.Service> services = new HashMap<>();
+        HMSNeumorphicAppModern.Bill b = null;
+        while (rs.next()) {
+            long id = rs.getLong("id");
+            if (b == null || b.id != id) {
+                b = new HMSNeumorphicAppModern.Bill(
+                        rs.getString("patient_name"), new ArrayList<>(), rs.getLong("total_cents")
+                );
+                b.id = id;
+                b.patientId = rs.getLong("patient_id");
+                b.doctorId = rs.getLong("doctor_id");
+                b.epochDay = getInt(rs, "epoch_day", HMSNeumorphicAppModern.Bill.NO_DATE);
+                bills.add(b);
+            }
+
+            long serviceId = rs.getLong("service_id");
+            if (serviceId == 0) continue;
+            long price = rs.getLong("price_cents");
+            HMSNeumorphicAppModern.Service s = services.get(serviceId);
+            if (s == null || s.priceCents != price) {
+                // Line items keep the price charged at the time, so only share equal-priced instances
+                s = new HMSNeumorphicAppModern.Service(rs.getString("service_name"), price);
+                s.id = serviceId;
+                services.put(serviceId, s);
+            }
+            for (int q = rs.getInt("quantity"); q > 0; q--) {
+                b.services.add(s);
+            }
+        }
+    }
+
+    // Revenue per service in cents, aggregated in SQL from the line items
+    public Map<String, Long> loadRevenueByService() {
+        Map<String, Long> revenue = new LinkedHashMap<>();
+        try {
+            connections.read(reader -> {
+                try (ResultSet rs = reader.prepare("SELECT s.name, SUM(i.price_cents * i.quantity) AS revenue FROM bill_items i "
+                        + "JOIN services s ON s.id = i.service_id GROUP BY s.id ORDER BY revenue DESC").executeQuery()) {
+                    while (rs.next()) {
+                        revenue.put(rs.getString(1), rs.getLong(2));
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return revenue;
+    }
+
+    // Streams a whole table to out without holding its rows; returns the row count.
+    // Unlike the loaders, failures are thrown so a half-written extract is never mistaken for a full one.
+    public long export(TableExport.Table table, TableExport.Format format, WritableByteChannel out) throws IOException {
+        String sql;
+        switch (table) {
+            case PATIENTS: sql = EXPORT_PATIENTS; break;
+            case APPOINTMENTS: sql = EXPORT_APPOINTMENTS; break;
+            default: sql = EXPORT_BILLS; break;
+        }
+        // Holds one read connection, and its WAL snapshot, for the whole extract
+        try {
+            return connections.read(reader -> {
+                try (Statement stmt = reader.connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    stmt.setFetchSize(EXPORT_FETCH_SIZE);
+                    try (ResultSet rs = stmt.executeQuery(sql)) {
+                        return new TableExport(out, format).write(rs);
+                    }
+                } catch (IOException e) {
+                    throw new SQLException(e.getMessage(), e);
+                }
+            });
+        } catch (SQLException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IOException("Export of " + table.name().toLowerCase(Locale.ROOT) + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    // Bulk insert: one cached statement, one write transaction per chunk of batchSize rows.
+    // Chunks that committed before a failure stay committed; the failing chunk is rolled back.
+    // Each chunk is queued on the writer separately, so other writes can run between chunks
+    // and a busy retry only repeats the chunk that hit it. progress, if given, hears about each commit.
+    private <T> int saveInBatches(String sql, Collection<T> rows, RowBinder<T> binder, ObjLongConsumer<T> idSetter,
+                                  ChunkWriter<T> children, BatchProgress progress) {
+        int total = rows.size();
+        int saved = 0;
+        int size = batchSize;
+        List<T> chunk = new ArrayList<>(Math.min(size, total));
+        try {
+            Iterator<T> it = rows.iterator();
+            while (it.hasNext()) {
+                long start = System.nanoTime();
+                chunk.clear();
+                while (it.hasNext() && chunk.size() < size) {
+                    chunk.add(it.next());
+                }
+                write(writer -> writer.inTransaction(tx -> {
+                    PreparedStatement stmt = tx.prepare(sql);
+                    stmt.clearBatch();
+                    for (T row : chunk) {
+                        binder.bind(stmt, row);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+
+                    // Rows inserted in one transaction on this connection get consecutive rowids
+                    long lastId = tx.lastInsertId();
+                    for (int i = 0; i < chunk.size(); i++) {
+                        idSetter.accept(chunk.get(i), lastId - chunk.size() + 1 + i);
+                    }
+                    if (children != null) children.write(tx, chunk);
+                    return null;
+                }));
+                saved += chunk.size();
+                if (progress != null) progress.chunkCommitted(chunk.size(), saved, total, System.nanoTime() - start);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return saved;
+    }
+
+    // Runs one cached insert and returns the new row's id
+    private long insert(SqliteConnections.Handle writer, String sql, Params params) throws SQLException {
+        PreparedStatement stmt = writer.prepare(sql);
+        params.bind(stmt);
+        stmt.executeUpdate();
+        return writer.lastInsertId();
+    }
+
+    // Paging helpers
+    private int count(String table) {
+        List<Integer> n = query("SELECT COUNT(*) FROM " + table, NO_PARAMS, rs -> rs.getInt(1), new ArrayList<>(1));
+        return n.isEmpty() ? 0 : n.get(0);
+    }
+
+    // Every id in ascending order, read from the primary key index, for binary-search lookups
+    private long[] loadIds(String table) {
+        try {
+            return connections.read(reader -> {
+                long[] ids;
+                try (ResultSet rs = reader.prepare("SELECT COUNT(*) FROM " + table).executeQuery()) {
+                    ids = new long[Math.max(16, rs.next() ? rs.getInt(1) : 0)];
+                }
+                int n = 0;
+                try (ResultSet rs = reader.prepare("SELECT id FROM " + table + " ORDER BY id").executeQuery()) {
+                    while (rs.next()) {
+                        if (n == ids.length) ids = Arrays.copyOf(ids, n * 2);
+                        ids[n++] = rs.getLong(1);
+                    }
+                }
+                return Arrays.copyOf(ids, n);
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new long[0];
+    }
+
+    // Id of every pageSize-th row in id order: the keyset anchors of every page after the first,
+    // read once per refresh instead of an OFFSET scan for each page jumped to
+    private long[] pageEnds(String table, int pageSize) {
+        try {
+            return connections.read(reader -> {
+                long min, max;
+                int count;
+                try (ResultSet rs = reader.prepare("SELECT MIN(id), MAX(id), COUNT(*) FROM " + table).executeQuery()) {
+                    rs.next();
+                    min = rs.getLong(1);
+                    max = rs.getLong(2);
+                    count = rs.getInt(3);
+                }
+                long[] ends = new long[count / pageSize];
+                if (count > 0 && max - min + 1 == count) {
+                    // No gaps in the ids (rows are never deleted), so the anchors follow from the first one
+                    for (int k = 0; k < ends.length; k++) ends[k] = min + (long) (k + 1) * pageSize - 1;
+                    return ends;
+                }
+                // Otherwise one pass over the primary key index; rows inserted meanwhile only add to the end
+                int k = 0, n = 0;
+                try (ResultSet rs = reader.prepare("SELECT id FROM " + table + " ORDER BY id").executeQuery()) {
+                    while (k < ends.length && rs.next()) {
+                        if (++n % pageSize == 0) ends[k++] = rs.getLong(1);
+                    }
+                }
+                return k == ends.length ? ends : Arrays.copyOf(ends, k);
+            });
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new long[0];
+    }
+
+    // Unsaved references (id 0) are stored as NULL so the foreign key is not violated
+    private void setId(PreparedStatement stmt, int index, long id) throws SQLException {
+        if (id > 0) {
+            stmt.setLong(index, id);
+        } else {
+            stmt.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private static void setInt(PreparedStatement stmt, int index, int value, int nullValue) throws SQLException {
+        if (value != nullValue) {
+            stmt.setInt(index, value);
+        } else {
+            stmt.setNull(index, Types.INTEGER);
+        }
+    }
+
+    private static int getInt(ResultSet rs, String column, int nullValue) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? nullValue : value;
+    }
+
+    public void close() {
+        if (connections != null) connections.close();
+    }
+}
@@ -0,0 +1,234 @@
+package hms;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+// ==================================================
+// SYNTHETIC DATASET GENERATOR
+// ==================================================
+// Writes a reproducible hospital dataset of a chosen size into a new SQLite
+// file with the application's schema, for scale testing:
+//
+//   java -cp <app jar + sqlite-jdbc> hms.DatasetGenerator --out big.db --patients 1000000 --seed 42
+//
+// Rows are generated a chunk at a time and written through DatabaseManager's
+// batched save path, so memory stays flat and ids come from the database.
+// Only patient/doctor ids and names are kept to link appointments and bills.
+// The same seed and sizes always produce the same rows.
+class DatasetGenerator {
+
+    private static final String[] FIRST_NAMES = {"Kofi", "Ama", "Kwame", "Akosua", "Yaw", "Abena", "Kojo", "Efua",
+            "Kwabena", "Adwoa", "Kwaku", "Akua", "Kwesi", "Esi", "Fiifi", "Afua", "Nana", "Yaa", "Selorm", "Dzifa"};
+    private static final String[] LAST_NAMES = {"Mensah", "Owusu", "Boateng", "Asante", "Osei", "Addo", "Agyeman",
+            "Appiah", "Darko", "Frimpong", "Ansah", "Quaye", "Tetteh", "Amoah", "Ofori", "Nkrumah", "Acheampong",
+            "Sarpong", "Adjei", "Gyamfi"};
+    private static final String[] TOWNS = {"Accra", "Kumasi", "Tamale", "Takoradi", "Cape Coast", "Tema", "Ho",
+            "Koforidua", "Sunyani", "Bolgatanga"};
+    private static final String[] GENDERS = {"Male", "Female"};
+    private static final String[] BLOOD_TYPES = {"O+", "O+", "O+", "A+", "A+", "B+", "B+", "AB+", "O-", "A-", "B-", "AB-"};
+    private static final String[] HISTORIES = {"", "", "", "Hypertension", "Diabetes", "Asthma", "Sickle cell trait", "Malaria (2019)"};
+    private static final String[] ALLERGIES = {"", "", "", "", "Penicillin", "Peanuts", "Sulfa drugs", "Latex"};
+    private static final String[] SPECIALTIES = {"General Practice", "Pediatrics", "Cardiology", "Obstetrics",
+            "Orthopedics", "Neurology", "Dermatology", "Ophthalmology"};
+    private static final String[] APPOINTMENT_TYPES = {"Consultation", "Consultation", "Follow-up", "Emergency", "Surgery"};
+    // Mobile prefixes; every number matches isValidGhanaPhone's ^(02|03|04|05)\d{8}$
+    private static final String[] PHONE_PREFIXES = {"020", "023", "024", "026", "027", "028", "050", "053", "054", "055", "057", "059"};
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private static final int CHUNK_SIZE = 50_000;
+    // Give up looking for a free slot after this many tries and accept the overlap
+    private static final int BOOKING_ATTEMPTS = 20;
+
+    private final Random random;
+    private final int firstDay;
+    private final int days;
+
+    // Dates fall in [firstDay, firstDay + days)
+    DatasetGenerator(long seed, int firstDay, int days) {
+        this.random = new Random(seed);
+        this.firstDay = firstDay;
+        this.days = days;
+    }
+
+    // The n-th patient; n keeps emails unique
+    HMSNeumorphicAppModern.Patient patient(int n) {
+        String first = pick(FIRST_NAMES);
+        String last = pick(LAST_NAMES);
+        return new HMSNeumorphicAppModern.Patient(first + " " + last, String.valueOf(1 + random.nextInt(95)),
+                pick(GENDERS), pick(BLOOD_TYPES), phone(),
+                (first + "." + last).toLowerCase(Locale.ROOT) + n + "@example.com",
+                pick(TOWNS), phone(), pick(HISTORIES), pick(ALLERGIES));
+    }
+
+    HMSNeumorphicAppModern.Doctor doctor(int n) {
+        return new HMSNeumorphicAppModern.Doctor("Dr. " + pick(FIRST_NAMES) + " " + pick(LAST_NAMES) + " " + n,
+                pick(SPECIALTIES), phone());
+    }
+
+    // A clinic-hours appointment on the quarter hour
+    HMSNeumorphicAppModern.Appointment appointment(long patientId, String patientName, HMSNeumorphicAppModern.Doctor doctor) {
+        int day = firstDay + random.nextInt(days);
+        int minute = AvailabilityEngine.OPEN_MINUTE + AvailabilityEngine.SLOT_MINUTES * random.nextInt(
+                (AvailabilityEngine.CLOSE_MINUTE - AvailabilityEngine.OPEN_MINUTE) / AvailabilityEngine.SLOT_MINUTES);
+        HMSNeumorphicAppModern.Appointment a = new HMSNeumorphicAppModern.Appointment(patientName, doctor.name,
+                pick(APPOINTMENT_TYPES), LocalDate.ofEpochDay(day).format(DATE_FORMAT),
+                pad(minute / 60, 2) + ":" + pad(minute % 60, 2), "", day, minute);
+        a.patientId = patientId;
+        a.doctorId = doctor.id;
+        return a;
+    }
+
+    // One to four distinct services from the catalog
+    HMSNeumorphicAppModern.Bill bill(long patientId, String patientName, HMSNeumorphicAppModern.Doctor doctor,
+                                     List<HMSNeumorphicAppModern.Service> catalog) {
+        List<HMSNeumorphicAppModern.Service> items = new ArrayList<>(4);
+        long total = 0;
+        int first = random.nextInt(catalog.size());
+        for (int k = 0, n = Math.min(catalog.size(), 1 + random.nextInt(4)); k < n; k++) {
+            HMSNeumorphicAppModern.Service s = catalog.get((first + k) % catalog.size());
+            items.add(s);
+            total += s.priceCents;
+        }
+        HMSNeumorphicAppModern.Bill b = new HMSNeumorphicAppModern.Bill(patientName, items, total);
+        b.patientId = patientId;
+        b.doctorId = doctor == null ? 0 : doctor.id;
+        b.epochDay = firstDay + random.nextInt(days);
+        return b;
+    }
+
+    private String phone() {
+        return pick(PHONE_PREFIXES) + pad(random.nextInt(10_000_000), 7);
+    }
+
+    // Zero-padded digits; String.format is the bulk of the cost at a million rows
+    private static String pad(int value, int width) {
+        String digits = Integer.toString(value);
+        StringBuilder sb = new StringBuilder(width);
+        for (int i = digits.length(); i < width; i++) sb.append('0');
+        return sb.append(digits).toString();
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    public static void main(String[] args) {
+        String out = "generated_hospital_data.db";
+        int patients = 10_000, doctors = -1, appointments = -1, bills = -1, years = 3;
+        long seed = 42;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--out": out = value; break;
+                    case "--patients": patients = Integer.parseInt(value); break;
+                    case "--doctors": doctors = Integer.parseInt(value); break;
+                    case "--appointments": appointments = Integer.parseInt(value); break;
+                    case "--bills": bills = Integer.parseInt(value); break;
+                    case "--years": years = Integer.parseInt(value); break;
+                    case "--seed": seed = Long.parseLong(value); break;
+                    default: throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+                i++;
+            }
+            if (out == null || patients <= 0 || years <= 0) throw new IllegalArgumentException("Bad option value");
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: DatasetGenerator [--out FILE] [--patients N] [--doctors N] [--appointments N]"
+                    + " [--bills N] [--years N] [--seed N]");
+            System.exit(2);
+            return;
+        }
+        // Defaults scale with the patient count
+        if (doctors < 0) doctors = Math.max(5, patients / 500);
+        if (appointments < 0) appointments = patients * 3;
+        if (bills < 0) bills = patients * 2;
+        if (doctors <= 0 && (appointments > 0 || bills > 0)) {
+            System.err.println("Appointments and bills need at least one doctor");
+            System.exit(2);
+            return;
+        }
+
+        if (new File(out).exists()) {
+            System.err.println(out + " already exists; choose a new --out file");
+            System.exit(1);
+            return;
+        }
+
+        // Appointments and bills span `years` back from today plus the next 90 days
+        int today = (int) LocalDate.now().toEpochDay();
+        int firstDay = today - 365 * years;
+        DatasetGenerator generator = new DatasetGenerator(seed, firstDay, today + 90 - firstDay);
+
+        long started = System.nanoTime();
+        DatabaseManager db = new DatabaseManager(out);
+        db.setBatchSize(CHUNK_SIZE);
+        try {
+            long[] patientIds = new long[patients];
+            String[] patientNames = new String[patients];
+            List<HMSNeumorphicAppModern.Patient> patientChunk = new ArrayList<>(CHUNK_SIZE);
+            for (int start = 0; start < patients; start += CHUNK_SIZE) {
+                patientChunk.clear();
+                for (int i = start; i < Math.min(patients, start + CHUNK_SIZE); i++) {
+                    patientChunk.add(generator.patient(i));
+                }
+                db.savePatients(patientChunk, report("patients", start, patients, started));
+                for (int i = 0; i < patientChunk.size(); i++) {
+                    patientIds[start + i] = patientChunk.get(i).id;
+                    patientNames[start + i] = patientChunk.get(i).name;
+                }
+            }
+
+            List<HMSNeumorphicAppModern.Doctor> doctorList = new ArrayList<>(doctors);
+            for (int i = 0; i < doctors; i++) {
+                doctorList.add(generator.doctor(i));
+            }
+            db.saveDoctors(doctorList, report("doctors", 0, doctors, started));
+
+            // Slot bitmaps keep generated doctors from being double-booked
+            AvailabilityEngine availability = new AvailabilityEngine();
+            List<HMSNeumorphicAppModern.Appointment> appointmentChunk = new ArrayList<>(CHUNK_SIZE);
+            for (int start = 0; start < appointments; start += CHUNK_SIZE) {
+                appointmentChunk.clear();
+                for (int i = start; i < Math.min(appointments, start + CHUNK_SIZE); i++) {
+                    int p = generator.random.nextInt(patients);
+                    HMSNeumorphicAppModern.Appointment a = null;
+                    for (int attempt = 0; attempt < BOOKING_ATTEMPTS; attempt++) {
+                        a = generator.appointment(patientIds[p], patientNames[p],
+                                doctorList.get(generator.random.nextInt(doctors)));
+                        if (availability.book(a)) break;
+                    }
+                    appointmentChunk.add(a);
+                }
+                db.saveAppointments(appointmentChunk, report("appointments", start, appointments, started));
+            }
+
+            List<HMSNeumorphicAppModern.Service> catalog = db.loadServices();
+            List<HMSNeumorphicAppModern.Bill> billChunk = new ArrayList<>(CHUNK_SIZE);
+            for (int start = 0; start < bills; start += CHUNK_SIZE) {
+                billChunk.clear();
+                for (int i = start; i < Math.min(bills, start + CHUNK_SIZE); i++) {
+                    int p = generator.random.nextInt(patients);
+                    billChunk.add(generator.bill(patientIds[p], patientNames[p],
+                            doctorList.get(generator.random.nextInt(doctors)), catalog));
+                }
+                db.saveBills(billChunk, report("bills", start, bills, started));
+            }
+        } finally {
+            db.close();
+        }
+        System.out.printf("Wrote %s in %.1f s%n", out, (System.nanoTime() - started) / 1e9);
+    }
+
+    // Prints each committed chunk of a save that starts at row offset of total
+    private static DatabaseManager.BatchProgress report(String what, int offset, int total, long started) {
+        return (chunkRows, saved, chunkTotal, chunkNanos) -> System.out.printf("%-12s %,d / %,d  %,.0f rows/s  (%.1f s)%n",
+                what, offset + saved, total, DatabaseManager.BatchProgress.rowsPerSecond(chunkRows, chunkNanos),
+                (System.nanoTime() - started) / 1e9);
+    }
+}
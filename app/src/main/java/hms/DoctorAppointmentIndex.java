@@ -0,0 +1,91 @@
+package hms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// ==================================================
+// PER-DOCTOR APPOINTMENT INDEX
+// ==================================================
+// Secondary index from doctor id to that doctor's appointments in
+// chronological order. Lookups cost nothing and inserts a binary search, so
+// doctor-scoped views scale with one caseload rather than the whole table.
+// After a reset each doctor only holds row numbers into the AppointmentStore;
+// the bucket is read out and sorted the first time that doctor is viewed.
+// Buckets for single doctors can be filled from the database before the full
+// appointment list has loaded. EDT-only.
+class DoctorAppointmentIndex {
+
+    static final Comparator<HMSNeumorphicAppModern.Appointment> CHRONOLOGICAL =
+            Comparator.comparingInt((HMSNeumorphicAppModern.Appointment a) -> a.epochDay)
+                    .thenComparingInt(a -> a.minuteOfDay)
+                    .thenComparingLong(a -> a.id);
+
+    private final Map<Long, List<HMSNeumorphicAppModern.Appointment>> byDoctor = new HashMap<>();
+    private final Map<Long, StoreRows> storeRows = new HashMap<>();
+    private AppointmentStore store;
+    private boolean complete;
+
+    // Rebuilds every bucket from the full appointment store
+    public void reset(AppointmentStore appointments) {
+        byDoctor.clear();
+        storeRows.clear();
+        store = appointments;
+        for (int row = 0; row < appointments.size(); row++) {
+            long doctorId = appointments.doctorId(row);
+            if (doctorId > 0) storeRows.computeIfAbsent(doctorId, id -> new StoreRows()).add(row);
+        }
+        complete = true;
+    }
+
+    // True if the doctor's bucket is known to hold all of their appointments
+    public boolean covers(long doctorId) {
+        return complete || byDoctor.containsKey(doctorId);
+    }
+
+    // Fills one doctor's bucket from an already chronological query result
+    public void put(long doctorId, List<HMSNeumorphicAppModern.Appointment> appointments) {
+        if (complete) return;
+        byDoctor.put(doctorId, new ArrayList<>(appointments));
+    }
+
+    // Inserts in chronological position and returns that position, or -1 if not indexed
+    public int add(HMSNeumorphicAppModern.Appointment a) {
+        if (a.doctorId <= 0 || !covers(a.doctorId)) return -1;
+        List<HMSNeumorphicAppModern.Appointment> bucket = bucket(a.doctorId);
+        int pos = Collections.binarySearch(bucket, a, CHRONOLOGICAL);
+        if (pos < 0) pos = -pos - 1;
+        bucket.add(pos, a);
+        return pos;
+    }
+
+    // Live, chronologically ordered view of the doctor's appointments (empty if not covered)
+    public List<HMSNeumorphicAppModern.Appointment> appointmentsFor(long doctorId) {
+        return covers(doctorId) ? bucket(doctorId) : Collections.emptyList();
+    }
+
+    private List<HMSNeumorphicAppModern.Appointment> bucket(long doctorId) {
+        return byDoctor.computeIfAbsent(doctorId, id -> {
+            StoreRows rows = storeRows.remove(id);
+            if (rows == null) return new ArrayList<>();
+            List<HMSNeumorphicAppModern.Appointment> bucket = new ArrayList<>(rows.size + 16);
+            for (int i = 0; i < rows.size; i++) bucket.add(store.get(rows.rows[i]));
+            bucket.sort(CHRONOLOGICAL);
+            return bucket;
+        });
+    }
+
+    private static class StoreRows {
+        int[] rows = new int[16];
+        int size;
+
+        void add(int row) {
+            if (size == rows.length) rows = Arrays.copyOf(rows, size * 2);
+            rows[size++] = row;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package hms;
+
+import javax.swing.AbstractButton;
+import javax.swing.SwingUtilities;
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.Dialog;
+import java.awt.EventQueue;
+import java.awt.Frame;
+import java.awt.KeyboardFocusManager;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.awt.event.ActionListener;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// ==================================================
+// EVENT DISPATCH THREAD WATCHDOG
+// ==================================================
+// Opt-in stall detector, enabled with -Dhms.edt.stallMillis=<threshold>.
+// Pushed on top of the system event queue, it times every dispatched event.
+// While one runs past half the threshold, a daemon thread samples the EDT's
+// stack. Events that finish over the threshold are written to a rolling log
+// (hms-edt-stalls.log) with the event, the component or dialog involved and
+// the sampled stacks, whose first hms frame is usually the offending listener.
+// Every dispatch time also goes into the ui.edtDispatch latency histogram.
+final class EdtWatchdog extends EventQueue {
+
+    static final String THRESHOLD_PROPERTY = "hms.edt.stallMillis";
+    private static final String LOG_FILE = "hms-edt-stalls.log";
+    private static final long MAX_LOG_BYTES = 1 << 20;
+    private static final int KEPT_LOGS = 3;
+    private static final int MAX_SAMPLES = 200;
+    private static final int REPORTED_STACKS = 3;
+    private static final int REPORTED_FRAMES = 30;
+    private static final LatencyHistogram DISPATCH_LATENCY = Metrics.latency("ui.edtDispatch");
+
+    private final long thresholdNanos;
+    private final Path log;
+    // Samples the EDT and, between samples, appends reports to the log
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "hms-edt-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Innermost dispatch in progress. Modal dialogs pump events from inside the
+    // dispatch that opened them, so dispatches nest.
+    private volatile Dispatch current;
+    private volatile Thread edt;
+
+    private static final class Dispatch {
+        final AWTEvent event;
+        final long start;
+        final Dispatch outer;
+        // Set once a modal loop runs inside this dispatch; the EDT is responsive again from then on
+        volatile boolean pumping;
+        private final List<StackTraceElement[]> samples = new ArrayList<>();
+
+        Dispatch(AWTEvent event, long start, Dispatch outer) {
+            this.event = event;
+            this.start = start;
+            this.outer = outer;
+        }
+
+        synchronized void addSample(StackTraceElement[] stack) {
+            if (samples.size() < MAX_SAMPLES) samples.add(stack);
+        }
+
+        synchronized List<StackTraceElement[]> samples() {
+            return new ArrayList<>(samples);
+        }
+    }
+
+    private EdtWatchdog(long thresholdMillis, Path log) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.log = log;
+        long period = Math.max(5, thresholdMillis / 4);
+        sampler.scheduleAtFixedRate(this::sample, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // Installs the watchdog when the threshold property is set; call before the UI is built
+    static void installIfEnabled() {
+        String value = System.getProperty(THRESHOLD_PROPERTY);
+        if (value == null) return;
+        long thresholdMillis;
+        try {
+            thresholdMillis = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            thresholdMillis = -1;
+        }
+        if (thresholdMillis <= 0) {
+            System.err.println("Ignoring " + THRESHOLD_PROPERTY + "=" + value + "; expected a positive number of milliseconds");
+            return;
+        }
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new EdtWatchdog(thresholdMillis, Paths.get(LOG_FILE)));
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        long start = System.nanoTime();
+        Dispatch outer = current;
+        if (outer != null && !outer.pumping) {
+            // A modal dialog opened; whatever ran before it still counts as a stall
+            outer.pumping = true;
+            if (start - outer.start >= thresholdNanos) report(outer, start - outer.start, "before opening a modal dialog");
+        }
+        Dispatch dispatch = new Dispatch(event, start, outer);
+        edt = Thread.currentThread();
+        current = dispatch;
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            current = outer;
+            DISPATCH_LATENCY.record(elapsed);
+            if (elapsed >= thresholdNanos && !dispatch.pumping) report(dispatch, elapsed, null);
+        }
+    }
+
+    private void sample() {
+        Dispatch dispatch = current;
+        Thread thread = edt;
+        if (dispatch == null || thread == null || dispatch.pumping) return;
+        if (System.nanoTime() - dispatch.start < thresholdNanos / 2) return;
+        dispatch.addSample(thread.getStackTrace());
+    }
+
+    // Describes the event here, on the EDT; formats and writes on the watchdog thread
+    private void report(Dispatch dispatch, long elapsedNanos, String note) {
+        String event = describe(dispatch.event);
+        LocalDateTime at = LocalDateTime.now();
+        sampler.execute(() -> append(format(at, elapsedNanos, note, event, dispatch.samples())));
+    }
+
+    private String describe(AWTEvent event) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Event:    ").append(event.getClass().getName()).append('[').append(event.paramString()).append("]\n");
+        Object source = event.getSource();
+        sb.append("Source:   ").append(source == null ? "null" : source.getClass().getName()).append('\n');
+
+        // Mouse and key events arrive on the window; find the component they were meant for
+        Component target = null;
+        if (event instanceof MouseEvent && source instanceof Component) {
+            MouseEvent e = (MouseEvent) event;
+            target = SwingUtilities.getDeepestComponentAt((Component) source, e.getX(), e.getY());
+        } else if (event instanceof KeyEvent) {
+            target = KeyboardFocusManager.getCurrentKeyboardFocusManager().getFocusOwner();
+        } else if (source instanceof Component) {
+            target = (Component) source;
+        }
+        if (target != null) {
+            sb.append("Target:   ").append(target.getClass().getName());
+            if (target instanceof AbstractButton) {
+                AbstractButton button = (AbstractButton) target;
+                sb.append(" \"").append(button.getText()).append('"');
+                for (ActionListener l : button.getActionListeners()) {
+                    sb.append("\n          listener ").append(l.getClass().getName());
+                }
+            }
+            sb.append('\n');
+            Window window = target instanceof Window ? (Window) target : SwingUtilities.getWindowAncestor(target);
+            if (window != null) {
+                String title = window instanceof Dialog ? ((Dialog) window).getTitle()
+                        : window instanceof Frame ? ((Frame) window).getTitle() : null;
+                sb.append("Window:   ").append(window.getClass().getName());
+                if (title != null) sb.append(" \"").append(title).append('"');
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String format(LocalDateTime at, long elapsedNanos, String note, String event,
+                                 List<StackTraceElement[]> samples) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("== EDT stall ").append(at).append(": ").append(TimeUnit.NANOSECONDS.toMillis(elapsedNanos)).append(" ms");
+        if (note != null) sb.append(' ').append(note);
+        sb.append(" ==\n").append(event);
+
+        if (samples.isEmpty()) {
+            sb.append("No stack samples (stall was shorter than the sampling period)\n\n");
+            return sb.toString();
+        }
+
+        // Identical stacks are grouped, most frequent first
+        Map<List<StackTraceElement>, Integer> counts = new LinkedHashMap<>();
+        for (StackTraceElement[] stack : samples) counts.merge(Arrays.asList(stack), 1, Integer::sum);
+        List<Map.Entry<List<StackTraceElement>, Integer>> stacks = new ArrayList<>(counts.entrySet());
+        stacks.sort((a, b) -> b.getValue() - a.getValue());
+
+        StackTraceElement handler = firstAppFrame(stacks.get(0).getKey());
+        if (handler != null) sb.append("Handler:  ").append(handler).append('\n');
+        sb.append("Samples:  ").append(samples.size()).append(", ").append(stacks.size()).append(" distinct\n");
+        for (int i = 0; i < Math.min(REPORTED_STACKS, stacks.size()); i++) {
+            List<StackTraceElement> stack = stacks.get(i).getKey();
+            sb.append("-- ").append(stacks.get(i).getValue()).append(" of ").append(samples.size()).append(" samples\n");
+            for (int f = 0; f < Math.min(REPORTED_FRAMES, stack.size()); f++) {
+                sb.append("    at ").append(stack.get(f)).append('\n');
+            }
+            if (stack.size() > REPORTED_FRAMES) sb.append("    ... ").append(stack.size() - REPORTED_FRAMES).append(" more\n");
+        }
+        sb.append('\n');
+        return sb.toString();
+    }
+
+    // Innermost application frame: the listener or task that held the EDT
+    private static StackTraceElement firstAppFrame(List<StackTraceElement> stack) {
+        for (StackTraceElement frame : stack) {
+            String cls = frame.getClassName();
+            if (cls.startsWith("hms.") && !cls.startsWith(EdtWatchdog.class.getName())) return frame;
+        }
+        return null;
+    }
+
+    // Rolls the log over at MAX_LOG_BYTES, keeping LOG_FILE.1 .. LOG_FILE.<KEPT_LOGS>
+    private void append(String report) {
+        try {
+            if (Files.exists(log) && Files.size(log) >= MAX_LOG_BYTES) {
+                for (int i = KEPT_LOGS - 1; i >= 1; i--) {
+                    Path older = log.resolveSibling(log.getFileName() + "." + i);
+                    if (Files.exists(older)) {
+                        Files.move(older, log.resolveSibling(log.getFileName() + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+                Files.move(log, log.resolveSibling(log.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+            }
+            try (Writer out = Files.newBufferedWriter(log, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                out.write(report);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,1611 @@
+package hms;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.TableModel;
+import javax.swing.table.TableRowSorter;
+import java.awt.*;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+// ==================================================
+// MAIN APPLICATION & UI FRAMEWORK
+// ==================================================
+public class HMSNeumorphicAppModern extends JFrame {
+
+    private static final long serialVersionUID = 1L;
+
+    // Core application variables
+    private String userRole;
+    private CardLayout cardLayout;
+    private JPanel mainPanel;
+    private ReminderScheduler reminders;
+    private AsyncRepository repo;
+
+    // Startup: the login card shows at once and each dashboard is built, and shown, the first
+    // time its role logs in. The paged tables only need page queries; the full lists below are
+    // prefetched behind them, and each *Loaded future completes on the EDT (even if its load
+    // failed) once that list and its search index are in.
+    private CompletableFuture<Void> patientsLoaded, doctorsLoaded, appointmentsLoaded, servicesLoaded, billsLoaded;
+    // Status strip along the bottom of the window while the prefetch runs
+    private JPanel loadingStatus;
+    private JLabel loadingLabel;
+    private JProgressBar loadingBar;
+    // The last action clicked while its lists were loading; it runs once they are in
+    private Runnable deferredAction;
+    private boolean adminDashboardBuilt;
+    private boolean doctorDashboardBuilt;
+
+    // Data collections
+    private List<Patient> patients = new ArrayList<>();
+    private List<Doctor> doctors = new ArrayList<>();
+    private AppointmentStore appointments = new AppointmentStore();
+    private List<Bill> bills = new ArrayList<>();
+    private final ServiceCatalog serviceCatalog = new ServiceCatalog();
+
+    // UI Components - Tables
+    private JTable adminPatientsTable;
+    private JTable adminAppointmentsTable;
+    private JTable adminDoctorsTable;
+    private JTable adminBillingTable;
+    private JTable doctorPatientsTable;
+    private JTable doctorAppointmentsTable;
+
+    // Table columns, shared by the table models and their search indexes
+    static final String[] PATIENT_COLUMNS = {"Name", "Age", "Gender", "Blood Type", "Phone", "Email"};
+    static final String[] APPOINTMENT_COLUMNS = {"Patient", "Doctor", "Type", "Date", "Time", "Notes"};
+    static final String[] DOCTOR_COLUMNS = {"Name", "Specialty", "Phone"};
+    static final String[] BILLING_COLUMNS = {"Patient", "Services", "Total"};
+    // Cell classes of the columns above; TypedCell columns sort and range-filter on a number
+    static final Class<?>[] PATIENT_COLUMN_CLASSES = {String.class, TypedCell.class, String.class, String.class, String.class, String.class};
+    static final Class<?>[] APPOINTMENT_COLUMN_CLASSES = {String.class, String.class, String.class, TypedCell.class, TypedCell.class, String.class};
+    static final Class<?>[] DOCTOR_COLUMN_CLASSES = {String.class, String.class, String.class};
+    static final Class<?>[] BILLING_COLUMN_CLASSES = {String.class, String.class, TypedCell.class};
+
+    // Latency metrics (also visible over JMX), appended to METRICS_FILE on exit
+    private static final String METRICS_FILE = "hms-metrics.log";
+    private static final LatencyHistogram ADMIN_REFRESH_LATENCY = Metrics.latency("ui.refreshAdminDashboard");
+    private static final LatencyHistogram DOCTOR_REFRESH_LATENCY = Metrics.latency("ui.refreshDoctorDashboard");
+    private static final LatencyHistogram SEARCH_LATENCY = Metrics.latency("ui.search");
+    private static final LatencyHistogram STARTUP_LATENCY = Metrics.latency("ui.startup");
+    private static final LatencyHistogram PREFETCH_LATENCY = Metrics.latency("ui.prefetch");
+
+    // Search indexes, one per entity, row numbers matching the table models
+    private final SearchIndex patientIndex = new SearchIndex(PATIENT_COLUMNS);
+    private final SearchIndex appointmentIndex = new SearchIndex(APPOINTMENT_COLUMNS);
+    private final SearchIndex doctorIndex = new SearchIndex(DOCTOR_COLUMNS);
+    private final SearchIndex billIndex = new SearchIndex(BILLING_COLUMNS);
+
+    // Table Models - one per entity, shared by the admin and doctor dashboards
+    private PagedTableModel<Patient> patientsModel;
+    private PagedTableModel<Appointment> appointmentsModel;
+    private ListTableModel<Doctor> doctorsModel;
+    private ListTableModel<Bill> billingModel;
+
+    // Revenue report tables; rows are already formatted
+    private final ListTableModel<Object[]> dailyRevenueModel = new ListTableModel<>(new String[]{"Day", "Revenue"}, ListTableModel.arrayCells(2));
+    private final ListTableModel<Object[]> monthlyRevenueModel = new ListTableModel<>(new String[]{"Month", "Revenue"}, ListTableModel.arrayCells(2));
+    private final ListTableModel<Object[]> serviceRevenueModel = new ListTableModel<>(new String[]{"Service", "Revenue"}, ListTableModel.arrayCells(2));
+    private final ListTableModel<Object[]> doctorRevenueModel = new ListTableModel<>(new String[]{"Doctor", "Revenue"}, ListTableModel.arrayCells(2));
+    private JLabel revenueSummaryLabel;
+
+    // Doctor dashboard - scoped to the selected doctor's caseload
+    private final DoctorAppointmentIndex doctorAppointmentIndex = new DoctorAppointmentIndex();
+    private final SearchIndex caseloadPatientIndex = new SearchIndex(PATIENT_COLUMNS);
+    private final SearchIndex caseloadAppointmentIndex = new SearchIndex(APPOINTMENT_COLUMNS);
+    private ListTableModel<Patient> caseloadPatientsModel;
+    private ListTableModel<Appointment> caseloadAppointmentsModel;
+    private List<Patient> caseloadPatients = new ArrayList<>();
+    private JComboBox<String> doctorSelector;
+
+    // Per-doctor slot bitmaps for double-booking checks and next-free-slot search
+    private final AvailabilityEngine availability = new AvailabilityEngine();
+
+    // Modern Color Scheme
+    private final Color PRIMARY_COLOR = new Color(41, 128, 185);
+    private final Color SECONDARY_COLOR = new Color(52, 152, 219);
+    private final Color ACCENT_COLOR = new Color(46, 204, 113);
+    private final Color BACKGROUND_COLOR = new Color(245, 245, 245);
+    private final Color CARD_COLOR = Color.WHITE;
+    private final Color TEXT_PRIMARY = new Color(51, 51, 51);
+
+    // Main Application Constructor
+    public HMSNeumorphicAppModern() {
+        long start = System.nanoTime();
+        setTitle("Hospital Management System");
+        setSize(1300, 750);
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setLocationRelativeTo(null);
+        setLayout(new BorderLayout());
+
+        // The database is opened on the db thread while the window is built
+        repo = new AsyncRepository(DatabaseManager::new);
+        initTableModels();
+        setupNotificationTimer();
+
+        mainPanel = new JPanel();
+        cardLayout = new CardLayout();
+        mainPanel.setLayout(cardLayout);
+        mainPanel.setBackground(BACKGROUND_COLOR);
+        add(mainPanel, BorderLayout.CENTER);
+
+        initLoginPage();
+        initLoadingStatus();
+
+        // Loading runs while credentials are typed
+        loadDataFromDatabase();
+
+        // Close database on window close
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosing(java.awt.event.WindowEvent windowEvent) {
+                reminders.shutdown();
+                if (repo != null) {
+                    repo.close();
+                }
+                Metrics.dump(Paths.get(METRICS_FILE));
+            }
+        });
+
+        setVisible(true);
+        STARTUP_LATENCY.recordSince(start);
+    }
+
+    // Core initialization methods
+    // Lists are swapped in on the EDT as each load finishes. Patient summaries, the
+    // appointment store and the bills are still read whole, because the search indexes,
+    // the patient pickers, reminders, slot checks and reports work over every row.
+    private void loadDataFromDatabase() {
+        long start = System.nanoTime();
+        patientsLoaded = settled(repo.loadPatientSummaries().thenCompose(list -> {
+            patients = list;
+            return patientIndex.rebuild(list, HMSNeumorphicAppModern::patientRow);
+        }));
+        doctorsLoaded = settled(repo.loadDoctors().thenCompose(list -> {
+            doctors = list;
+            updateDoctorsTable();
+            updateDoctorSelector();
+            return doctorIndex.rebuild(list, HMSNeumorphicAppModern::doctorRow);
+        }));
+        appointmentsLoaded = settled(repo.loadAppointmentStore().thenCompose(store -> {
+            appointments = store;
+            reminders.reset(store);
+            doctorAppointmentIndex.reset(store);
+            availability.reset(store);
+            showCaseload();
+            AppointmentStore snapshot = store.snapshot();
+            return appointmentIndex.rebuild(snapshot.size(), snapshot::row, store::size, store::row);
+        }));
+        servicesLoaded = settled(repo.loadServices().thenAccept(serviceCatalog::replace));
+        billsLoaded = settled(repo.loadBills().thenCompose(list -> {
+            bills = list;
+            updateBillingTable();
+            return billIndex.rebuild(list, HMSNeumorphicAppModern::billRow);
+        }));
+        List<CompletableFuture<Void>> steps =
+                Arrays.asList(patientsLoaded, doctorsLoaded, appointmentsLoaded, servicesLoaded, billsLoaded);
+        loadingBar.setMaximum(steps.size());
+        for (CompletableFuture<Void> step : steps) {
+            step.thenRun(() -> loadingBar.setValue(loadingBar.getValue() + 1));
+        }
+        CompletableFuture.allOf(steps.toArray(new CompletableFuture<?>[0])).thenRun(() -> {
+            PREFETCH_LATENCY.recordSince(start);
+            loadingStatus.setVisible(false);
+        });
+    }
+
+    private void initLoadingStatus() {
+        loadingStatus = new JPanel(new BorderLayout(10, 0));
+        loadingStatus.setBackground(CARD_COLOR);
+        loadingStatus.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createMatteBorder(1, 0, 0, 0, new Color(220, 220, 220)),
+                BorderFactory.createEmptyBorder(4, 10, 4, 10)
+        ));
+
+        loadingLabel = new JLabel("Loading hospital records...");
+        loadingLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        loadingLabel.setForeground(TEXT_PRIMARY);
+
+        // Advanced by loadDataFromDatabase as each list and its index arrive
+        loadingBar = new JProgressBar();
+        loadingBar.setPreferredSize(new Dimension(200, 14));
+        loadingBar.setForeground(PRIMARY_COLOR);
+
+        loadingStatus.add(loadingLabel, BorderLayout.CENTER);
+        loadingStatus.add(loadingBar, BorderLayout.EAST);
+        add(loadingStatus, BorderLayout.SOUTH);
+    }
+
+    // A failed load is counted by AsyncRepository and leaves its list empty; what waits on it goes ahead
+    private static CompletableFuture<Void> settled(CompletableFuture<Void> step) {
+        return step.handle((r, ex) -> null);
+    }
+
+    // Dialogs that read or extend a prefetched list wait until it is in: returns true, and
+    // runs action once the steps complete, if any is still loading
+    private boolean deferUntilLoaded(Runnable action, CompletableFuture<?>... steps) {
+        CompletableFuture<Void> loaded = CompletableFuture.allOf(steps);
+        if (loaded.isDone()) return false;
+        deferredAction = action;
+        loadingLabel.setText("Loading hospital records... this will open when they are in");
+        loaded.thenRun(() -> {
+            if (deferredAction != action) return;
+            deferredAction = null;
+            loadingLabel.setText("Loading hospital records...");
+            action.run();
+        });
+        return true;
+    }
+
+    // Reminders fire REMINDER_LEAD_MINUTES before each appointment starts
+    private static final int REMINDER_LEAD_MINUTES = 15;
+
+    private void setupNotificationTimer() {
+        reminders = new ReminderScheduler(REMINDER_LEAD_MINUTES, this::checkNotifications);
+    }
+
+    // Called on the EDT with the appointments whose reminders just fell due
+    private void checkNotifications(List<Appointment> due) {
+        if (userRole == null) return;
+
+        StringBuilder msg = new StringBuilder("Starting soon:\n");
+        for (Appointment appt : due) {
+            msg.append(appt.time).append(" - ").append(appt.patient).append(" with ").append(appt.doctor)
+                    .append(" (").append(appt.type).append(")\n");
+        }
+
+        // Non-modal so a reminder never blocks whatever the user is doing
+        JOptionPane pane = new JOptionPane(msg.toString(), JOptionPane.INFORMATION_MESSAGE);
+        JDialog dialog = pane.createDialog(this, "Appointment Reminder");
+        dialog.setModal(false);
+        dialog.setVisible(true);
+    }
+
+    private void initTableModels() {
+        patientsModel = new PagedTableModel<>(PATIENT_COLUMNS, PATIENT_COLUMN_CLASSES, patientPageSource(),
+                HMSNeumorphicAppModern::patientRow);
+        appointmentsModel = new PagedTableModel<>(APPOINTMENT_COLUMNS, APPOINTMENT_COLUMN_CLASSES, appointmentPageSource(),
+                HMSNeumorphicAppModern::appointmentRow);
+        doctorsModel = new ListTableModel<>(DOCTOR_COLUMNS, DOCTOR_COLUMN_CLASSES, DOCTOR_CELLS);
+        billingModel = new ListTableModel<>(BILLING_COLUMNS, BILLING_COLUMN_CLASSES, BILLING_CELLS);
+        caseloadPatientsModel = new ListTableModel<>(PATIENT_COLUMNS, PATIENT_COLUMN_CLASSES, PATIENT_CELLS);
+        caseloadAppointmentsModel = new ListTableModel<>(APPOINTMENT_COLUMNS, APPOINTMENT_COLUMN_CLASSES, APPOINTMENT_CELLS);
+    }
+
+    // Dashboard initialization methods
+    private void initAdminDashboard() {
+        JPanel adminPanel = new JPanel(new BorderLayout());
+        adminPanel.setBackground(BACKGROUND_COLOR);
+
+        // Header
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setBackground(PRIMARY_COLOR);
+        headerPanel.setBorder(new EmptyBorder(10, 20, 10, 20));
+
+        JLabel titleLabel = new JLabel("Administrator Dashboard");
+        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
+        titleLabel.setForeground(Color.WHITE);
+
+        JButton logoutBtn = createStyledButton("Logout", new Color(120, 120, 120));
+        logoutBtn.addActionListener(e -> cardLayout.show(mainPanel, "login"));
+
+        headerPanel.add(titleLabel, BorderLayout.WEST);
+        headerPanel.add(logoutBtn, BorderLayout.EAST);
+        adminPanel.add(headerPanel, BorderLayout.NORTH);
+
+        // Tabs
+        JTabbedPane tabbedPane = new JTabbedPane();
+        tabbedPane.setFont(new Font("Segoe UI", Font.BOLD, 14));
+
+        tabbedPane.add("Patients", createPatientsTab(true));
+        tabbedPane.add("Appointments", createAppointmentsTab(true));
+        tabbedPane.add("Doctors", createDoctorsTab());
+        tabbedPane.add("Billing", createBillingTab());
+        tabbedPane.add("Reports", createReportsTab());
+        // Reports are recomputed whenever the tab is opened
+        tabbedPane.addChangeListener(e -> {
+            if ("Reports".equals(tabbedPane.getTitleAt(tabbedPane.getSelectedIndex()))) updateReports();
+        });
+
+        adminPanel.add(tabbedPane, BorderLayout.CENTER);
+        mainPanel.add(adminPanel, "admin");
+    }
+
+    private void initDoctorDashboard() {
+        JPanel doctorPanel = new JPanel(new BorderLayout());
+        doctorPanel.setBackground(BACKGROUND_COLOR);
+
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setBackground(PRIMARY_COLOR);
+        headerPanel.setBorder(new EmptyBorder(10, 20, 10, 20));
+
+        JLabel titleLabel = new JLabel("Doctor Dashboard");
+        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 20));
+        titleLabel.setForeground(Color.WHITE);
+
+        // The doctor login is shared, so the caseload is picked here
+        JLabel selectorLabel = new JLabel("Doctor:");
+        selectorLabel.setForeground(Color.WHITE);
+        doctorSelector = new JComboBox<>();
+        styleComboBox(doctorSelector);
+        doctorSelector.addActionListener(e -> showCaseload());
+
+        doctorSelector.setModel(new DefaultComboBoxModel<>(doctorSelectorNames()));
+
+        JButton logoutBtn = createStyledButton("Logout", new Color(120, 120, 120));
+        logoutBtn.addActionListener(e -> cardLayout.show(mainPanel, "login"));
+
+        JPanel actionsPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        actionsPanel.setOpaque(false);
+        actionsPanel.add(selectorLabel);
+        actionsPanel.add(doctorSelector);
+        actionsPanel.add(logoutBtn);
+
+        headerPanel.add(titleLabel, BorderLayout.WEST);
+        headerPanel.add(actionsPanel, BorderLayout.EAST);
+        doctorPanel.add(headerPanel, BorderLayout.NORTH);
+
+        JTabbedPane tabbedPane = new JTabbedPane();
+        tabbedPane.setFont(new Font("Segoe UI", Font.BOLD, 14));
+
+        tabbedPane.add("Patients", createPatientsTab(false));
+        tabbedPane.add("Appointments", createAppointmentsTab(false));
+
+        doctorPanel.add(tabbedPane, BorderLayout.CENTER);
+        mainPanel.add(doctorPanel, "doctor");
+    }
+
+    // Tab creation methods
+    private JPanel createPatientsTab(boolean isAdmin) {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        panel.setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        JTable table = new JTable(isAdmin ? patientsModel : caseloadPatientsModel);
+        styleTable(table);
+
+        if (isAdmin) {
+            adminPatientsTable = table;
+        } else {
+            doctorPatientsTable = table;
+        }
+
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.setBackground(BACKGROUND_COLOR);
+
+        if (!isAdmin) {
+            JButton addBtn = createStyledButton("Add Patient", ACCENT_COLOR);
+            addBtn.addActionListener(e -> showAddPatientDialog());
+            topPanel.add(addBtn, BorderLayout.WEST);
+        } else {
+            JButton importBtn = createStyledButton("Import CSV", ACCENT_COLOR);
+            importBtn.addActionListener(e -> importPatients(importBtn));
+            topPanel.add(importBtn, BorderLayout.WEST);
+        }
+
+        JPanel searchPanel = isAdmin
+                ? createSearchPanel(table, patientsModel, patientIndex, patientsLoaded)
+                : createSearchPanel(table, caseloadPatientsModel, caseloadPatientIndex);
+        topPanel.add(searchPanel, BorderLayout.EAST);
+
+        // The table rows are summaries; the selected patient's full record is shown below
+        JTextArea detailsArea = new JTextArea(4, 40);
+        detailsArea.setEditable(false);
+        detailsArea.setLineWrap(true);
+        detailsArea.setWrapStyleWord(true);
+        detailsArea.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        JScrollPane detailsPane = new JScrollPane(detailsArea);
+        detailsPane.setBorder(BorderFactory.createTitledBorder("Patient Details"));
+        table.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) showPatientDetails(table, isAdmin, detailsArea);
+        });
+        if (isAdmin) {
+            // A row selected before its page arrived shows "Loading..." until the page-loaded event;
+            // deferred so the sorter and table have handled the event first
+            patientsModel.addTableModelListener(e -> SwingUtilities.invokeLater(() -> {
+                Object shown = detailsArea.getClientProperty("patientId");
+                if (table.getSelectedRow() >= 0 && Long.valueOf(PagedTableModel.UNKNOWN).equals(shown)) {
+                    showPatientDetails(table, true, detailsArea);
+                }
+            }));
+        }
+
+        panel.add(topPanel, BorderLayout.NORTH);
+        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        panel.add(detailsPane, BorderLayout.SOUTH);
+
+        return panel;
+    }
+
+    // Fetches the selected patient's full record, from the detail cache when recently opened
+    private void showPatientDetails(JTable table, boolean isAdmin, JTextArea detailsArea) {
+        int row = table.getSelectedRow();
+        long id = -1;
+        if (row >= 0) {
+            int modelRow = table.convertRowIndexToModel(row);
+            id = isAdmin ? patientsModel.idAt(modelRow) : caseloadPatientsModel.getRow(modelRow).id;
+        }
+        Long selected = id;
+        detailsArea.putClientProperty("patientId", selected);
+        if (id <= 0) {
+            detailsArea.setText(row >= 0 ? "Loading..." : "");
+            return;
+        }
+        repo.loadPatient(id).thenAccept(p -> {
+            // The selection may have moved on while this loaded
+            if (!selected.equals(detailsArea.getClientProperty("patientId"))) return;
+            if (p == null) {
+                detailsArea.setText("This patient is no longer in the database.");
+                return;
+            }
+            detailsArea.setText("Address: " + orNone(p.address)
+                    + "\nEmergency contact: " + orNone(p.emergency)
+                    + "\nMedical history: " + orNone(p.medicalHistory)
+                    + "\nAllergies: " + orNone(p.allergies));
+            detailsArea.setCaretPosition(0);
+        });
+    }
+
+    private static String orNone(String value) {
+        return value == null || value.trim().isEmpty() ? "-" : value;
+    }
+
+    private JPanel createAppointmentsTab(boolean isAdmin) {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        panel.setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        JTable table = new JTable(isAdmin ? appointmentsModel : caseloadAppointmentsModel);
+        styleTable(table);
+
+        if (isAdmin) {
+            adminAppointmentsTable = table;
+        } else {
+            doctorAppointmentsTable = table;
+        }
+
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.setBackground(BACKGROUND_COLOR);
+
+        if (!isAdmin) {
+            JButton addBtn = createStyledButton("Schedule Appointment", ACCENT_COLOR);
+            addBtn.addActionListener(e -> showAddAppointmentDialog());
+            topPanel.add(addBtn, BorderLayout.WEST);
+        }
+
+        JPanel searchPanel = isAdmin
+                ? createSearchPanel(table, appointmentsModel, appointmentIndex, appointmentsLoaded)
+                : createSearchPanel(table, caseloadAppointmentsModel, caseloadAppointmentIndex);
+        topPanel.add(searchPanel, BorderLayout.EAST);
+
+        panel.add(topPanel, BorderLayout.NORTH);
+        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+
+        return panel;
+    }
+
+    private JPanel createDoctorsTab() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        panel.setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        adminDoctorsTable = new JTable(doctorsModel);
+        styleTable(adminDoctorsTable);
+
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.setBackground(BACKGROUND_COLOR);
+
+        JButton addBtn = createStyledButton("Add Doctor", ACCENT_COLOR);
+        addBtn.addActionListener(e -> showAddDoctorDialog());
+
+        JPanel searchPanel = createSearchPanel(adminDoctorsTable, doctorsModel, doctorIndex, doctorsLoaded);
+
+        topPanel.add(addBtn, BorderLayout.WEST);
+        topPanel.add(searchPanel, BorderLayout.EAST);
+
+        panel.add(topPanel, BorderLayout.NORTH);
+        panel.add(new JScrollPane(adminDoctorsTable), BorderLayout.CENTER);
+
+        return panel;
+    }
+
+    private JPanel createBillingTab() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(BACKGROUND_COLOR);
+        panel.setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        adminBillingTable = new JTable(billingModel);
+        styleTable(adminBillingTable);
+
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.setBackground(BACKGROUND_COLOR);
+
+        JButton addBtn = createStyledButton("Create Bill", ACCENT_COLOR);
+        addBtn.addActionListener(e -> showCreateBillDialog());
+        JButton addServiceBtn = createStyledButton("Add Service", SECONDARY_COLOR);
+        addServiceBtn.addActionListener(e -> showAddServiceDialog());
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        buttonPanel.setBackground(BACKGROUND_COLOR);
+        buttonPanel.add(addBtn);
+        buttonPanel.add(addServiceBtn);
+
+        JPanel searchPanel = createSearchPanel(adminBillingTable, billingModel, billIndex, billsLoaded);
+
+        topPanel.add(buttonPanel, BorderLayout.WEST);
+        topPanel.add(searchPanel, BorderLayout.EAST);
+
+        panel.add(topPanel, BorderLayout.NORTH);
+        panel.add(new JScrollPane(adminBillingTable), BorderLayout.CENTER);
+
+        return panel;
+    }
+
+    private JPanel createReportsTab() {
+        JPanel panel = new JPanel(new BorderLayout(0, 10));
+        panel.setBackground(BACKGROUND_COLOR);
+        panel.setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.setBackground(BACKGROUND_COLOR);
+
+        JButton refreshBtn = createStyledButton("Refresh", SECONDARY_COLOR);
+        refreshBtn.addActionListener(e -> updateReports());
+        revenueSummaryLabel = new JLabel();
+        revenueSummaryLabel.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        revenueSummaryLabel.setForeground(TEXT_PRIMARY);
+
+        topPanel.add(revenueSummaryLabel, BorderLayout.WEST);
+        topPanel.add(refreshBtn, BorderLayout.EAST);
+
+        JPanel tablesPanel = new JPanel(new GridLayout(2, 2, 10, 10));
+        tablesPanel.setBackground(BACKGROUND_COLOR);
+        tablesPanel.add(createReportTable("Daily", dailyRevenueModel));
+        tablesPanel.add(createReportTable("Monthly", monthlyRevenueModel));
+        tablesPanel.add(createReportTable("By Service", serviceRevenueModel));
+        tablesPanel.add(createReportTable("By Doctor", doctorRevenueModel));
+
+        panel.add(topPanel, BorderLayout.NORTH);
+        panel.add(tablesPanel, BorderLayout.CENTER);
+
+        return panel;
+    }
+
+    private JScrollPane createReportTable(String title, ListTableModel<Object[]> model) {
+        JTable table = new JTable(model);
+        styleTable(table);
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setBorder(BorderFactory.createTitledBorder(title));
+        return scrollPane;
+    }
+
+    // Day, month and doctor totals are aggregated in parallel over a snapshot of the
+    // loaded bills; per-service totals come from a GROUP BY over bill_items
+    private void updateReports() {
+        if (!billsLoaded.isDone()) {
+            revenueSummaryLabel.setText("Loading bills...");
+            billsLoaded.thenRun(this::updateReports);
+            return;
+        }
+        List<Bill> snapshot = new ArrayList<>(bills);
+        CompletableFuture.supplyAsync(() -> BillingAnalytics.aggregate(snapshot))
+                .thenCombineAsync(repo.loadRevenueByService(), (report, byService) -> {
+                    showReport(report, byService);
+                    return null;
+                }, SwingUtilities::invokeLater);
+    }
+
+    private void showReport(BillingAnalytics.RevenueReport report, Map<String, Long> byService) {
+        revenueSummaryLabel.setText(report.billCount + " bills, " + Money.format(report.totalCents) + " total"
+                + (report.undatedCents != 0 ? " (" + Money.format(report.undatedCents) + " undated)" : ""));
+
+        DateTimeFormatter dayFormat = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        List<Object[]> daily = new ArrayList<>();
+        for (int i = report.dailyCents.length - 1; i >= 0; i--) {
+            if (report.dailyCents[i] == 0) continue;
+            daily.add(new Object[]{LocalDate.ofEpochDay(report.firstDay + i).format(dayFormat),
+                    Money.format(report.dailyCents[i])});
+        }
+        dailyRevenueModel.setRows(daily);
+
+        DateTimeFormatter monthFormat = DateTimeFormatter.ofPattern("MMM yyyy");
+        List<Object[]> monthly = new ArrayList<>();
+        report.monthlyCents.forEach((month, cents) -> monthly.add(0, new Object[]{month.format(monthFormat), Money.format(cents)}));
+        monthlyRevenueModel.setRows(monthly);
+
+        List<Object[]> perService = new ArrayList<>();
+        byService.forEach((name, cents) -> perService.add(new Object[]{name, Money.format(cents)}));
+        serviceRevenueModel.setRows(perService);
+
+        Map<Long, String> doctorNames = new HashMap<>();
+        for (Doctor d : doctors) doctorNames.put(d.id, d.name);
+        List<Map.Entry<Long, Long>> byDoctor = new ArrayList<>(report.doctorCents.entrySet());
+        byDoctor.sort(Map.Entry.<Long, Long>comparingByValue().reversed());
+        List<Object[]> perDoctor = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : byDoctor) {
+            perDoctor.add(new Object[]{doctorNames.getOrDefault(entry.getKey(), "#" + entry.getKey()),
+                    Money.format(entry.getValue())});
+        }
+        doctorRevenueModel.setRows(perDoctor);
+    }
+
+    // UI Styling methods
+    private void styleTable(JTable table) {
+        table.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        table.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 13));
+        table.getTableHeader().setBackground(PRIMARY_COLOR);
+        table.getTableHeader().setForeground(Color.WHITE);
+        table.setRowHeight(25);
+        table.setSelectionBackground(new Color(220, 240, 255));
+    }
+
+    // Filters as the user types; terms are word prefixes, "field:prefix" limits a term to one column
+    private JPanel createSearchPanel(JTable table, TableModel model, SearchIndex index) {
+        return createSearchPanel(table, model, index, CompletableFuture.completedFuture(null));
+    }
+
+    // Until indexed completes the index is empty and would hide every row, so search stays off
+    private JPanel createSearchPanel(JTable table, TableModel model, SearchIndex index, CompletableFuture<Void> indexed) {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        panel.setBackground(BACKGROUND_COLOR);
+
+        JTextField searchField = new JTextField(15);
+        styleTextField(searchField);
+
+        JButton searchBtn = createStyledButton("Search", PRIMARY_COLOR);
+
+        TableRowSorter<TableModel> sorter = new TableRowSorter<>(model);
+        if (model instanceof PagedTableModel) {
+            // Sorting compares rows in random order and would pull every page back in
+            for (int i = 0; i < model.getColumnCount(); i++) sorter.setSortable(i, false);
+        }
+        // Ages, dates, times and totals sort by their number, not their text, and take range terms
+        boolean typed = false;
+        for (int i = 0; i < model.getColumnCount(); i++) {
+            if (model.getColumnClass(i) != TypedCell.class) continue;
+            sorter.setComparator(i, TypedCell.ORDER);
+            typed = true;
+        }
+        table.setRowSorter(sorter);
+        String tip = typed ? "Ranges work on typed columns, e.g. age 60-80, total > 500 or date >= 1/3/2026" : null;
+        searchField.setToolTipText(tip);
+        if (!indexed.isDone()) {
+            searchField.setEnabled(false);
+            searchBtn.setEnabled(false);
+            searchField.setToolTipText("Search is available once the records have loaded");
+            indexed.thenRun(() -> {
+                searchField.setEnabled(true);
+                searchBtn.setEnabled(true);
+                searchField.setToolTipText(tip);
+            });
+        }
+
+        Runnable applySearch = () -> {
+            long start = System.nanoTime();
+            BitSet matches = index.search(searchField.getText());
+            sorter.setRowFilter(matches == null ? null : new RowFilter<TableModel, Integer>() {
+                @Override
+                public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                    return matches.get(entry.getIdentifier());
+                }
+            });
+            SEARCH_LATENCY.recordSince(start);
+        };
+
+        javax.swing.Timer typeAhead = new javax.swing.Timer(120, e -> applySearch.run());
+        typeAhead.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { typeAhead.restart(); }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { typeAhead.restart(); }
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { typeAhead.restart(); }
+        });
+        searchBtn.addActionListener(e -> {
+            typeAhead.stop();
+            applySearch.run();
+        });
+
+        panel.add(new JLabel("Search:"));
+        panel.add(searchField);
+        panel.add(searchBtn);
+
+        return panel;
+    }
+
+    // Dashboard refresh methods; timed until the paged tables have their first pages
+    private void refreshAdminDashboard() {
+        long start = System.nanoTime();
+        CompletableFuture<Void> patientsShown = updatePatientsTable();
+        CompletableFuture<Void> appointmentsShown = updateAppointmentsTable();
+        updateDoctorsTable();
+        updateBillingTable();
+        CompletableFuture.allOf(patientsShown, appointmentsShown)
+                .whenComplete((r, ex) -> ADMIN_REFRESH_LATENCY.recordSince(start));
+    }
+
+    private void refreshDoctorDashboard() {
+        long start = System.nanoTime();
+        showCaseload().whenComplete((r, ex) -> DOCTOR_REFRESH_LATENCY.recordSince(start));
+    }
+
+    // Shows the selected doctor's appointments and patients. The appointments come
+    // from the per-doctor index, or from idx_appointments_doctor_day until the full
+    // list has loaded; either way the cost follows the caseload, not the table.
+    private CompletableFuture<Void> showCaseload() {
+        Doctor doctor = selectedDoctor();
+        if (doctor == null) {
+            showCaseload(Collections.emptyList(), new ArrayList<>());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<List<Appointment>> caseload;
+        if (doctorAppointmentIndex.covers(doctor.id)) {
+            caseload = CompletableFuture.completedFuture(doctorAppointmentIndex.appointmentsFor(doctor.id));
+        } else {
+            caseload = repo.loadAppointmentsForDoctor(doctor.id).thenApply(list -> {
+                doctorAppointmentIndex.put(doctor.id, list);
+                return doctorAppointmentIndex.appointmentsFor(doctor.id);
+            });
+        }
+        return caseload.thenCombine(repo.loadPatientSummariesForDoctor(doctor.id), (list, patientList) -> {
+            // A newer selection may have finished first
+            if (selectedDoctor() == doctor) showCaseload(list, patientList);
+            return null;
+        });
+    }
+
+    private void showCaseload(List<Appointment> list, List<Patient> patientList) {
+        caseloadPatients = patientList;
+        caseloadAppointmentsModel.setRows(list);
+        caseloadPatientsModel.setRows(patientList);
+        caseloadAppointmentIndex.rebuild(list, HMSNeumorphicAppModern::appointmentRow);
+        caseloadPatientIndex.rebuild(patientList, HMSNeumorphicAppModern::patientRow);
+    }
+
+    // Keeps the doctor view current after an appointment is booked
+    private void addToCaseload(Appointment appointment, Patient patient) {
+        int position = doctorAppointmentIndex.add(appointment);
+        Doctor doctor = selectedDoctor();
+        if (position < 0 || doctor == null || doctor.id != appointment.doctorId) return;
+
+        // Mid-list inserts shift row numbers, so the (small) caseload index is rebuilt
+        List<Appointment> list = doctorAppointmentIndex.appointmentsFor(doctor.id);
+        caseloadAppointmentsModel.setRows(list);
+        caseloadAppointmentIndex.rebuild(list, HMSNeumorphicAppModern::appointmentRow);
+
+        for (Patient p : caseloadPatients) {
+            if (p.id == patient.id) return;
+        }
+        caseloadPatients.add(patient);
+        caseloadPatientIndex.add(caseloadPatients.size() - 1, patientRow(patient));
+        caseloadPatientsModel.rowsAppended(1);
+    }
+
+    private Doctor selectedDoctor() {
+        if (doctorSelector == null) return null;
+        int index = doctorSelector.getSelectedIndex();
+        return index >= 0 && index < doctors.size() ? doctors.get(index) : null;
+    }
+
+    // Selector entries line up with the doctors list
+    private void updateDoctorSelector() {
+        if (doctorSelector == null) return;
+        doctorSelector.setModel(new DefaultComboBoxModel<>(doctorSelectorNames()));
+        showCaseload();
+    }
+
+    private String[] doctorSelectorNames() {
+        String[] names = new String[doctors.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = doctors.get(i).name + " (" + doctors.get(i).specialty + ")";
+        }
+        return names;
+    }
+
+    // Table update methods - full reloads; single adds go through rowsAppended
+    private CompletableFuture<Void> updatePatientsTable() {
+        return patientsModel.refresh();
+    }
+
+    private CompletableFuture<Void> updateAppointmentsTable() {
+        return appointmentsModel.refresh();
+    }
+
+    private void updateDoctorsTable() {
+        doctorsModel.setRows(doctors);
+    }
+
+    private void updateBillingTable() {
+        billingModel.setRows(bills);
+    }
+
+    // Cell mappers, one per column, for the list table models; the row mappers built
+    // from them are shared by the paged models, the search indexes and the benchmarks
+    static final List<Function<Patient, Object>> PATIENT_CELLS = Arrays.asList(
+            p -> p.name, p -> TypedCell.age(p.age, p.ageYears), p -> p.gender, p -> p.bloodType, p -> p.phone,
+            p -> p.email);
+    static final List<Function<Appointment, Object>> APPOINTMENT_CELLS = Arrays.asList(
+            a -> a.patient, a -> a.doctor, a -> a.type, a -> TypedCell.date(a.date, a.epochDay),
+            a -> TypedCell.time(a.time, a.minuteOfDay), a -> a.notes);
+    static final List<Function<Doctor, Object>> DOCTOR_CELLS = Arrays.asList(d -> d.name, d -> d.specialty, d -> d.phone);
+    static final List<Function<Bill, Object>> BILLING_CELLS = Arrays.asList(
+            b -> b.patientName, HMSNeumorphicAppModern::serviceNames, b -> TypedCell.money(b.totalCents));
+
+    static Object[] patientRow(Patient p) {
+        return ListTableModel.row(PATIENT_CELLS, p);
+    }
+
+    static Object[] appointmentRow(Appointment a) {
+        return ListTableModel.row(APPOINTMENT_CELLS, a);
+    }
+
+    static Object[] doctorRow(Doctor d) {
+        return ListTableModel.row(DOCTOR_CELLS, d);
+    }
+
+    static Object[] billRow(Bill b) {
+        return ListTableModel.row(BILLING_CELLS, b);
+    }
+
+    private static String serviceNames(Bill b) {
+        StringBuilder servicesStr = new StringBuilder();
+        for (int i = 0; i < b.services.size(); i++) {
+            servicesStr.append(b.services.get(i).name);
+            if (i < b.services.size() - 1) servicesStr.append(", ");
+        }
+        return servicesStr.toString();
+    }
+
+    // Page sources backing the lazily populated Patients and Appointments tables
+    private PagedTableModel.PageSource<Patient> patientPageSource() {
+        return new PagedTableModel.PageSource<Patient>() {
+            public int pageSize() { return repo.getPageSize(); }
+            public CompletableFuture<Integer> count() { return repo.countPatients(); }
+            public CompletableFuture<List<Patient>> loadPage(long afterId) { return repo.loadPatientSummariesPage(afterId); }
+            public CompletableFuture<long[]> pageEnds(int pageSize) { return repo.loadPatientPageEnds(pageSize); }
+            public long idOf(Patient p) { return p.id; }
+        };
+    }
+
+    private PagedTableModel.PageSource<Appointment> appointmentPageSource() {
+        return new PagedTableModel.PageSource<Appointment>() {
+            public int pageSize() { return repo.getPageSize(); }
+            public CompletableFuture<Integer> count() { return repo.countAppointments(); }
+            public CompletableFuture<List<Appointment>> loadPage(long afterId) { return repo.loadAppointmentsPage(afterId); }
+            public CompletableFuture<long[]> pageEnds(int pageSize) { return repo.loadAppointmentPageEnds(pageSize); }
+            public long idOf(Appointment a) { return a.id; }
+        };
+    }
+
+    public static void main(String[] args) {
+        // Headless extract for the insurer: export patients|appointments|bills [options]
+        if (args.length > 0 && args[0].equals("export")) {
+            System.exit(TableExport.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        // Headless bulk onboarding: import patients|appointments FILE.csv [options]
+        if (args.length > 0 && args[0].equals("import")) {
+            System.exit(CsvImport.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        // JSON API for kiosks and lab systems; keeps running after main returns
+        if (args.length > 0 && args[0].equals("serve")) {
+            int status = HttpApi.run(Arrays.copyOfRange(args, 1, args.length));
+            if (status != 0) System.exit(status);
+            return;
+        }
+        EdtWatchdog.installIfEnabled();
+        SwingUtilities.invokeLater(() -> new HMSNeumorphicAppModern());
+    }
+
+    // ==================================================
+// AUTHENTICATION & SECURITY
+// ==================================================
+    private void initLoginPage() {
+        JPanel loginPanel = new JPanel(new GridBagLayout());
+        loginPanel.setBackground(BACKGROUND_COLOR);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(10, 10, 10, 10);
+
+        JPanel loginCard = new JPanel();
+        loginCard.setBackground(CARD_COLOR);
+        loginCard.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(new Color(220, 220, 220)),
+                BorderFactory.createEmptyBorder(30, 30, 30, 30)
+        ));
+        loginCard.setLayout(new GridBagLayout());
+
+        JLabel titleLabel = new JLabel("Hospital Management System");
+        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 24));
+        titleLabel.setForeground(PRIMARY_COLOR);
+
+        JLabel userLabel = new JLabel("Username:");
+        JTextField userField = new JTextField(15);
+        styleTextField(userField);
+
+        JLabel passLabel = new JLabel("Password:");
+        JPasswordField passField = new JPasswordField(15);
+        styleTextField(passField);
+
+        JLabel roleLabel = new JLabel("Role:");
+        String[] roles = {"Administrator", "Doctor"};
+        JComboBox<String> roleCombo = new JComboBox<>(roles);
+        styleComboBox(roleCombo);
+
+        JButton loginBtn = createStyledButton("Login", PRIMARY_COLOR);
+        loginBtn.setPreferredSize(new Dimension(200, 40));
+
+        // Authentication logic
+        loginBtn.addActionListener(e -> {
+            String username = userField.getText().trim();
+            String password = new String(passField.getPassword()).trim();
+            String role = (String) roleCombo.getSelectedItem();
+
+            if (username.isEmpty() || password.isEmpty()) {
+                JOptionPane.showMessageDialog(this, "Please enter all fields.", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            boolean valid = false;
+            if (role.equals("Administrator") && username.equals("admin") && password.equals("admin123")) {
+                valid = true;
+            } else if (role.equals("Doctor") && username.equals("doctor") && password.equals("doctor123")) {
+                valid = true;
+            }
+
+            if (!valid) {
+                JOptionPane.showMessageDialog(this, "Invalid credentials!", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
+            userRole = role;
+            showDashboard(role.equals("Administrator"));
+        });
+
+        // Login form layout
+        gbc.gridx = 0; gbc.gridy = 0; gbc.gridwidth = 2;
+        loginCard.add(titleLabel, gbc);
+
+        gbc.gridwidth = 1; gbc.gridy++;
+        loginCard.add(userLabel, gbc);
+        gbc.gridx = 1;
+        loginCard.add(userField, gbc);
+
+        gbc.gridx = 0; gbc.gridy++;
+        loginCard.add(passLabel, gbc);
+        gbc.gridx = 1;
+        loginCard.add(passField, gbc);
+
+        gbc.gridx = 0; gbc.gridy++;
+        loginCard.add(roleLabel, gbc);
+        gbc.gridx = 1;
+        loginCard.add(roleCombo, gbc);
+
+        gbc.gridx = 0; gbc.gridy++; gbc.gridwidth = 2;
+        loginCard.add(loginBtn, gbc);
+
+        loginPanel.add(loginCard);
+        mainPanel.add(loginPanel, "login");
+    }
+
+    // Builds the role's dashboard on its first login and shows it at once; lists still
+    // being prefetched fill their tables in as they arrive
+    private void showDashboard(boolean admin) {
+        if (admin && !adminDashboardBuilt) {
+            initAdminDashboard();
+            adminDashboardBuilt = true;
+        } else if (!admin && !doctorDashboardBuilt) {
+            initDoctorDashboard();
+            doctorDashboardBuilt = true;
+        }
+        if (admin) {
+            refreshAdminDashboard();
+            cardLayout.show(mainPanel, "admin");
+        } else {
+            refreshDoctorDashboard();
+            cardLayout.show(mainPanel, "doctor");
+        }
+    }
+
+    // UI Styling methods for authentication
+    private void styleTextField(JComponent field) {
+        field.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        field.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(new Color(200, 200, 200)),
+                BorderFactory.createEmptyBorder(8, 10, 8, 10)
+        ));
+        field.setBackground(new Color(250, 250, 250));
+    }
+
+    private void styleComboBox(JComboBox<?> combo) {
+        combo.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        combo.setBackground(Color.WHITE);
+    }
+
+    private JButton createStyledButton(String text, Color color) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        button.setBackground(color);
+        button.setForeground(Color.WHITE);
+        button.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
+        button.setFocusPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+        button.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseEntered(java.awt.event.MouseEvent evt) {
+                button.setBackground(color.darker());
+            }
+            public void mouseExited(java.awt.event.MouseEvent evt) {
+                button.setBackground(color);
+            }
+        });
+
+        return button;
+    }
+
+    private static final DateTimeFormatter SLOT_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    // ==================================================
+// PATIENT MANAGEMENT SYSTEM
+// ==================================================
+    private void showAddPatientDialog() {
+        if (deferUntilLoaded(this::showAddPatientDialog, patientsLoaded)) return;
+        JDialog dialog = new JDialog(this, "Add Patient", true);
+        dialog.setSize(400, 500);
+        dialog.setLocationRelativeTo(this);
+        dialog.setLayout(new GridLayout(11, 2, 5, 5));
+
+        // Patient form fields
+        JTextField nameField = new JTextField();
+        JTextField ageField = new JTextField();
+        JTextField genderField = new JTextField();
+        JTextField bloodField = new JTextField();
+        JTextField phoneField = new JTextField();
+        JTextField emailField = new JTextField();
+        JTextField addressField = new JTextField();
+        JTextField emergencyField = new JTextField();
+        JTextField medicalField = new JTextField();
+        JTextField allergyField = new JTextField();
+
+        // Form layout
+        dialog.add(new JLabel("Name:")); dialog.add(nameField);
+        dialog.add(new JLabel("Age:")); dialog.add(ageField);
+        dialog.add(new JLabel("Gender:")); dialog.add(genderField);
+        dialog.add(new JLabel("Blood Type:")); dialog.add(bloodField);
+        dialog.add(new JLabel("Phone:")); dialog.add(phoneField);
+        dialog.add(new JLabel("Email:")); dialog.add(emailField);
+        dialog.add(new JLabel("Address:")); dialog.add(addressField);
+        dialog.add(new JLabel("Emergency Contact:")); dialog.add(emergencyField);
+        dialog.add(new JLabel("Medical History:")); dialog.add(medicalField);
+        dialog.add(new JLabel("Allergies:")); dialog.add(allergyField);
+
+        JButton saveBtn = createStyledButton("Save", ACCENT_COLOR);
+        saveBtn.addActionListener(e -> {
+            String name = nameField.getText().trim();
+            String age = ageField.getText().trim();
+            String phone = phoneField.getText().trim();
+            String email = emailField.getText().trim();
+
+            // Patient data validation
+            if (name.isEmpty() || age.isEmpty()) {
+                JOptionPane.showMessageDialog(dialog, "Name and Age are required!");
+                return;
+            }
+
+            if (!Validators.isValidAge(age)) {
+                JOptionPane.showMessageDialog(dialog, "Invalid age!");
+                return;
+            }
+
+            if (!phone.isEmpty() && !Validators.isValidGhanaPhone(phone)) {
+                JOptionPane.showMessageDialog(dialog, "Invalid Ghana phone number!");
+                return;
+            }
+
+            if (!email.isEmpty() && !Validators.isValidEmail(email)) {
+                JOptionPane.showMessageDialog(dialog, "Invalid email!");
+                return;
+            }
+
+            // Create and save patient
+            Patient patient = new Patient(name, age, genderField.getText(), bloodField.getText(),
+                    phone, email, addressField.getText(), emergencyField.getText(),
+                    medicalField.getText(), allergyField.getText());
+
+            saveInBackground(dialog, saveBtn, repo.savePatient(patient), () -> {
+                patients.add(patient);
+                patientIndex.add(patients.size() - 1, patientRow(patient));
+                patientsModel.rowsAppended(1);
+                JOptionPane.showMessageDialog(dialog, "Patient added successfully!");
+            });
+        });
+
+        dialog.add(new JLabel());
+        dialog.add(saveBtn);
+        dialog.setVisible(true);
+    }
+
+    // Bulk onboarding; rejected rows are reported next to the chosen file
+    private void importPatients(JButton importBtn) {
+        if (deferUntilLoaded(() -> importPatients(importBtn), patientsLoaded)) return;
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("CSV files", "csv"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        java.nio.file.Path file = chooser.getSelectedFile().toPath();
+        java.nio.file.Path rejects = file.resolveSibling(file.getFileName() + ".rejects.csv");
+
+        importBtn.setEnabled(false);
+        importBtn.setText("Importing...");
+        DatabaseManager.BatchProgress progress = (chunkRows, saved, total, chunkNanos) ->
+                SwingUtilities.invokeLater(() -> importBtn.setText(String.format("Imported %,d...", saved)));
+        repo.importCsv(TableExport.Table.PATIENTS, file, rejects, progress).whenComplete((result, ex) -> {
+            importBtn.setEnabled(true);
+            importBtn.setText("Import CSV");
+            if (ex != null) {
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                JOptionPane.showMessageDialog(this, "Import failed: " + cause.getMessage());
+                return;
+            }
+            repo.loadPatientSummaries().thenAccept(list -> {
+                patients = list;
+                patientIndex.rebuild(list, HMSNeumorphicAppModern::patientRow);
+                updatePatientsTable();
+            });
+            JOptionPane.showMessageDialog(this, "Import finished: " + result
+                    + (result.rejected > 0 ? "\nRejected rows are listed in " + rejects : ""));
+        });
+    }
+
+    // ==================================================
+// DOCTOR & BILLING SYSTEM
+// ==================================================
+    private void showAddDoctorDialog() {
+        if (deferUntilLoaded(this::showAddDoctorDialog, doctorsLoaded)) return;
+        JDialog dialog = new JDialog(this, "Add Doctor", true);
+        dialog.setSize(350, 250);
+        dialog.setLocationRelativeTo(this);
+        dialog.setLayout(new GridLayout(4, 2, 10, 10));
+
+        JTextField nameField = new JTextField();
+        JTextField specialtyField = new JTextField();
+        JTextField phoneField = new JTextField();
+
+        dialog.add(new JLabel("Name:"));
+        dialog.add(nameField);
+        dialog.add(new JLabel("Specialty:"));
+        dialog.add(specialtyField);
+        dialog.add(new JLabel("Phone:"));
+        dialog.add(phoneField);
+
+        JButton saveBtn = createStyledButton("Save", ACCENT_COLOR);
+        saveBtn.addActionListener(e -> {
+            String name = nameField.getText().trim();
+            String specialty = specialtyField.getText().trim();
+            String phone = phoneField.getText().trim();
+
+            if (name.isEmpty() || specialty.isEmpty() || phone.isEmpty()) {
+                JOptionPane.showMessageDialog(dialog, "All fields are required!");
+                return;
+            }
+
+            if (!Validators.isValidGhanaPhone(phone)) {
+                JOptionPane.showMessageDialog(dialog, "Invalid Ghana phone number!");
+                return;
+            }
+
+            Doctor doctor = new Doctor(name, specialty, phone);
+            saveInBackground(dialog, saveBtn, repo.saveDoctor(doctor), () -> {
+                doctors.add(doctor);
+                doctorIndex.add(doctors.size() - 1, doctorRow(doctor));
+                doctorsModel.rowsAppended(1);
+                if (doctorSelector != null) doctorSelector.addItem(doctor.name + " (" + doctor.specialty + ")");
+                JOptionPane.showMessageDialog(dialog, "Doctor added successfully!");
+            });
+        });
+
+        dialog.add(new JLabel());
+        dialog.add(saveBtn);
+        dialog.setVisible(true);
+    }
+
+    private void showAddAppointmentDialog() {
+        if (deferUntilLoaded(this::showAddAppointmentDialog, patientsLoaded, doctorsLoaded, appointmentsLoaded)) return;
+        if (patients.isEmpty() || doctors.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No patients or doctors available!");
+            return;
+        }
+
+        JDialog dialog = new JDialog(this, "Schedule Appointment", true);
+        dialog.setSize(400, 340);
+        dialog.setLocationRelativeTo(this);
+        dialog.setLayout(new GridLayout(8, 2, 5, 5));
+
+        JComboBox<String> patientCombo = new JComboBox<>();
+        for (Patient p : patients) patientCombo.addItem(p.name);
+
+        JComboBox<String> doctorCombo = new JComboBox<>();
+        for (Doctor d : doctors) doctorCombo.addItem(d.name);
+
+        String[] types = {"Consultation", "Follow-up", "Emergency", "Surgery"};
+        JComboBox<String> typeCombo = new JComboBox<>(types);
+        JTextField dateField = new JTextField();
+        JTextField timeField = new JTextField();
+        JTextField notesField = new JTextField();
+
+        dialog.add(new JLabel("Patient:")); dialog.add(patientCombo);
+        dialog.add(new JLabel("Doctor:")); dialog.add(doctorCombo);
+        dialog.add(new JLabel("Type:")); dialog.add(typeCombo);
+        dialog.add(new JLabel("Date (DD/MM/YYYY):")); dialog.add(dateField);
+        dialog.add(new JLabel("Time (HH:MM):")); dialog.add(timeField);
+        dialog.add(new JLabel("Notes:")); dialog.add(notesField);
+
+        // Fills in the earliest free slot with any doctor of the selected doctor's specialty,
+        // starting from the entered date if there is one
+        JButton findSlotBtn = createStyledButton("Next Free Slot", SECONDARY_COLOR);
+        findSlotBtn.addActionListener(e -> {
+            if (!availability.isReady()) {
+                JOptionPane.showMessageDialog(dialog, "Appointments are still loading, please try again.");
+                return;
+            }
+            String specialty = doctors.get(doctorCombo.getSelectedIndex()).specialty;
+            LocalDateTime now = LocalDateTime.now();
+            int fromDay = (int) now.toLocalDate().toEpochDay();
+            int fromMinute = now.getHour() * 60 + now.getMinute();
+            int enteredDay = Appointment.toEpochDay(dateField.getText());
+            if (enteredDay != Appointment.NO_DATE && enteredDay > fromDay) {
+                fromDay = enteredDay;
+                fromMinute = 0;
+            }
+
+            AvailabilityEngine.Slot slot = availability.nextFreeSlot(doctors, specialty, fromDay, fromMinute);
+            if (slot == null) {
+                JOptionPane.showMessageDialog(dialog, "No free " + specialty + " slot in the next "
+                        + AvailabilityEngine.SEARCH_DAYS + " days.");
+                return;
+            }
+            doctorCombo.setSelectedIndex(doctors.indexOf(slot.doctor));
+            dateField.setText(LocalDate.ofEpochDay(slot.epochDay).format(SLOT_DATE_FORMAT));
+            timeField.setText(String.format("%02d:%02d", slot.minuteOfDay / 60, slot.minuteOfDay % 60));
+        });
+        dialog.add(new JLabel("Next free slot:")); dialog.add(findSlotBtn);
+
+        JButton saveBtn = createStyledButton("Save", ACCENT_COLOR);
+        saveBtn.addActionListener(e -> {
+            String date = dateField.getText().trim();
+            String time = timeField.getText().trim();
+
+            if (date.isEmpty() || time.isEmpty()) {
+                JOptionPane.showMessageDialog(dialog, "Date and Time are required!");
+                return;
+            }
+
+            if (!Validators.isValidDate(date)) {
+                JOptionPane.showMessageDialog(dialog, "Invalid date!");
+                return;
+            }
+
+            if (!Validators.isValidTime(time)) {
+                JOptionPane.showMessageDialog(dialog, "Invalid time!");
+                return;
+            }
+
+            Patient patient = patients.get(patientCombo.getSelectedIndex());
+            Doctor doctor = doctors.get(doctorCombo.getSelectedIndex());
+            Appointment appointment = new Appointment(
+                    patient.name,
+                    doctor.name,
+                    (String) typeCombo.getSelectedItem(),
+                    date, time, notesField.getText()
+            );
+            appointment.patientId = patient.id;
+            appointment.doctorId = doctor.id;
+
+            // The slot is claimed before the save is queued, so a second booking made
+            // while this one is in flight is still caught
+            if (!availability.isReady()) {
+                JOptionPane.showMessageDialog(dialog, "Appointments are still loading, please try again.");
+                return;
+            }
+            if (!availability.book(appointment)) {
+                JOptionPane.showMessageDialog(dialog, doctor.name + " is already booked at " + time + " on " + date + "!");
+                return;
+            }
+
+            // The bitmap only knows this window's bookings; the database checks the slot again
+            // in the insert's transaction, which also sees API and other workstations' bookings
+            CompletableFuture<Boolean> booked = repo.saveAppointmentIfFree(appointment);
+            booked.whenComplete((free, ex) -> {
+                if (ex != null || !free) availability.release(appointment);
+            });
+            String taken = doctor.name + "'s slot at " + time + " on " + date + " was just taken, please pick another time.";
+            saveInBackground(dialog, saveBtn, booked, taken, () -> {
+                int row = appointments.add(appointment);
+                appointmentIndex.add(row, appointments.row(row));
+                reminders.schedule(appointment);
+                appointmentsModel.rowsAppended(1);
+                addToCaseload(appointment, patient);
+                JOptionPane.showMessageDialog(dialog, "Appointment scheduled!");
+            });
+        });
+
+        dialog.add(new JLabel());
+        dialog.add(saveBtn);
+        dialog.setVisible(true);
+    }
+
+    private void showCreateBillDialog() {
+        if (deferUntilLoaded(this::showCreateBillDialog, patientsLoaded, servicesLoaded, billsLoaded)) return;
+        if (patients.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No patients available!");
+            return;
+        }
+        if (serviceCatalog.services().isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No services available!");
+            return;
+        }
+
+        JDialog dialog = new JDialog(this, "Create Bill", true);
+        dialog.setSize(400, 400);
+        dialog.setLocationRelativeTo(this);
+        dialog.setLayout(new BorderLayout());
+
+        JPanel formPanel = new JPanel(new GridLayout(3, 2, 5, 5));
+
+        JComboBox<String> patientCombo = new JComboBox<>();
+        for (Patient p : patients) patientCombo.addItem(p.name);
+
+        // Optional; bills with a doctor show up in the per-doctor revenue report
+        JComboBox<String> doctorCombo = new JComboBox<>();
+        doctorCombo.addItem("(none)");
+        for (Doctor d : doctors) doctorCombo.addItem(d.name);
+
+        // The list holds the catalog entries themselves, so a selection is already a service id.
+        // A fixed cell height keeps a long tariff from being measured row by row.
+        JList<Service> servicesList = new JList<>(serviceCatalog.services().toArray(new Service[0]));
+        servicesList.setFixedCellHeight(22);
+        servicesList.setCellRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                Service s = (Service) value;
+                return super.getListCellRendererComponent(list, s.name + " - " + Money.format(s.priceCents),
+                        index, isSelected, cellHasFocus);
+            }
+        });
+        servicesList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+
+        formPanel.add(new JLabel("Patient:"));
+        formPanel.add(patientCombo);
+        formPanel.add(new JLabel("Doctor:"));
+        formPanel.add(doctorCombo);
+        formPanel.add(new JLabel("Services:"));
+        formPanel.add(new JScrollPane(servicesList));
+
+        JButton saveBtn = createStyledButton("Generate Bill", ACCENT_COLOR);
+        saveBtn.addActionListener(e -> {
+            List<Service> selectedServices = servicesList.getSelectedValuesList();
+            if (selectedServices.isEmpty()) {
+                JOptionPane.showMessageDialog(dialog, "Select at least one service!");
+                return;
+            }
+
+            long total = 0;
+            for (Service s : selectedServices) {
+                total += s.priceCents;
+            }
+
+            Patient patient = patients.get(patientCombo.getSelectedIndex());
+            Bill bill = new Bill(patient.name, selectedServices, total);
+            bill.patientId = patient.id;
+            if (doctorCombo.getSelectedIndex() > 0) bill.doctorId = doctors.get(doctorCombo.getSelectedIndex() - 1).id;
+            bill.epochDay = (int) LocalDate.now().toEpochDay();
+            saveInBackground(dialog, saveBtn, repo.saveBill(bill), () -> {
+                bills.add(bill);
+                billIndex.add(bills.size() - 1, billRow(bill));
+                billingModel.rowsAppended(1);
+                JOptionPane.showMessageDialog(dialog, "Bill created! Total: " + Money.format(bill.totalCents));
+            });
+        });
+
+        dialog.add(formPanel, BorderLayout.CENTER);
+        dialog.add(saveBtn, BorderLayout.SOUTH);
+        dialog.setVisible(true);
+    }
+
+    private void showAddServiceDialog() {
+        if (deferUntilLoaded(this::showAddServiceDialog, servicesLoaded)) return;
+        JDialog dialog = new JDialog(this, "Add Service", true);
+        dialog.setSize(350, 180);
+        dialog.setLocationRelativeTo(this);
+        dialog.setLayout(new GridLayout(3, 2, 10, 10));
+
+        JTextField nameField = new JTextField();
+        JTextField priceField = new JTextField();
+
+        dialog.add(new JLabel("Name:"));
+        dialog.add(nameField);
+        dialog.add(new JLabel("Price:"));
+        dialog.add(priceField);
+
+        JButton saveBtn = createStyledButton("Save", ACCENT_COLOR);
+        saveBtn.addActionListener(e -> {
+            String name = nameField.getText().trim();
+            if (name.isEmpty()) {
+                JOptionPane.showMessageDialog(dialog, "Name is required!");
+                return;
+            }
+            if (serviceCatalog.contains(name)) {
+                JOptionPane.showMessageDialog(dialog, "Service already exists!");
+                return;
+            }
+
+            long priceCents;
+            try {
+                priceCents = Money.parse(priceField.getText());
+            } catch (RuntimeException ex) {
+                priceCents = -1;
+            }
+            if (priceCents < 0) {
+                JOptionPane.showMessageDialog(dialog, "Invalid price!");
+                return;
+            }
+
+            Service service = new Service(name, priceCents);
+            saveInBackground(dialog, saveBtn, repo.saveService(service), () -> {
+                serviceCatalog.add(service);
+                JOptionPane.showMessageDialog(dialog, "Service added!");
+            });
+        });
+
+        dialog.add(new JLabel());
+        dialog.add(saveBtn);
+        dialog.setVisible(true);
+    }
+
+    // Keeps the dialog responsive while the save runs on the database thread
+    private void saveInBackground(JDialog dialog, JButton saveBtn, CompletableFuture<Void> save, Runnable onSaved) {
+        saveInBackground(dialog, saveBtn, save.thenApply(result -> true), null, onSaved);
+    }
+
+    // The same for a save the database may refuse: when it completes with false nothing
+    // was written, so refused is shown and the dialog stays open
+    private void saveInBackground(JDialog dialog, JButton saveBtn, CompletableFuture<Boolean> save, String refused,
+                                  Runnable onSaved) {
+        saveBtn.setEnabled(false);
+        dialog.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        save.whenComplete((saved, ex) -> {
+            dialog.setCursor(Cursor.getDefaultCursor());
+            if (ex != null) {
+                saveBtn.setEnabled(true);
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                JOptionPane.showMessageDialog(dialog, "Save failed: " + cause.getMessage(), "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            if (!saved) {
+                saveBtn.setEnabled(true);
+                JOptionPane.showMessageDialog(dialog, refused);
+                return;
+            }
+            onSaved.run();
+            dialog.dispose();
+        });
+    }
+
+    // ==================================================
+    // DATA MODEL CLASSES
+    // ==================================================
+    static class Patient {
+        static final int NO_AGE = -1;
+
+        long id;
+        String name, age, gender, bloodType, phone, email;
+        // Age in whole years for sorting and range filters, NO_AGE when the text doesn't parse
+        int ageYears;
+        // Null on the summaries list views load; DatabaseManager.loadPatient reads the full record
+        String address, emergency, medicalHistory, allergies;
+
+        public Patient(String name, String age, String gender, String bloodType, String phone,
+                       String email, String address, String emergency, String medicalHistory, String allergies) {
+            this.name = name;
+            this.age = age;
+            this.ageYears = toAgeYears(age);
+            this.gender = gender;
+            this.bloodType = bloodType;
+            this.phone = phone;
+            this.email = email;
+            this.address = address;
+            this.emergency = emergency;
+            this.medicalHistory = medicalHistory;
+            this.allergies = allergies;
+        }
+
+        static int toAgeYears(String age) {
+            if (age == null) return NO_AGE;
+            String value = age.trim();
+            return Validators.isValidAge(value) ? Integer.parseInt(value) : NO_AGE;
+        }
+    }
+
+    static class Doctor {
+        long id;
+        String name, specialty, phone;
+        public Doctor(String name, String specialty, String phone) {
+            this.name = name;
+            this.specialty = specialty;
+            this.phone = phone;
+        }
+    }
+
+    static class Appointment {
+        static final int NO_DATE = Validators.NO_DATE;
+        static final int NO_TIME = -1;
+
+        long id, patientId, doctorId;
+        String patient, doctor, type, date, time, notes;
+        // Sortable forms of date and time, NO_DATE / NO_TIME when the text doesn't parse
+        int epochDay, minuteOfDay;
+
+        public Appointment(String patient, String doctor, String type, String date, String time, String notes) {
+            this(patient, doctor, type, date, time, notes, toEpochDay(date), toMinuteOfDay(time));
+        }
+
+        public Appointment(String patient, String doctor, String type, String date, String time, String notes,
+                           int epochDay, int minuteOfDay) {
+            this.patient = patient;
+            this.doctor = doctor;
+            this.type = type;
+            this.date = date;
+            this.time = time;
+            this.notes = notes;
+            this.epochDay = epochDay;
+            this.minuteOfDay = minuteOfDay;
+        }
+
+        // Same rules as the form validation; stored text may carry stray spaces
+        static int toEpochDay(String date) {
+            return date == null ? NO_DATE : Validators.toEpochDay(date.trim());
+        }
+
+        static int toMinuteOfDay(String time) {
+            try {
+                int colon = time.indexOf(':');
+                int hours = Integer.parseInt(time.substring(0, colon).trim());
+                int minutes = Integer.parseInt(time.substring(colon + 1).trim());
+                return hours < 24 && minutes < 60 && hours >= 0 && minutes >= 0 ? hours * 60 + minutes : NO_TIME;
+            } catch (RuntimeException e) {
+                return NO_TIME;
+            }
+        }
+    }
+
+    static class Service {
+        long id;
+        String name;
+        long priceCents;
+        public Service(String name, long priceCents) {
+            this.name = name;
+            this.priceCents = priceCents;
+        }
+    }
+
+    static class Bill {
+        static final int NO_DATE = Integer.MIN_VALUE;
+
+        long id, patientId, doctorId;
+        String patientName;
+        List<Service> services;
+        long totalCents;
+        // Billing day; NO_DATE for bills created before it was recorded
+        int epochDay = NO_DATE;
+        public Bill(String patientName, List<Service> services, long totalCents) {
+            this.patientName = patientName;
+            this.services = services;
+            this.totalCents = totalCents;
+        }
+    }
+}
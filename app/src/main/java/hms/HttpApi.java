@@ -0,0 +1,451 @@
+package hms;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ==================================================
+// LOCAL HTTP API
+// ==================================================
+// JSON endpoints over DatabaseManager for kiosks and lab systems, served by the
+// JDK's built-in HttpServer with one virtual thread per request (JDK 21+; on
+// older runtimes a cached pool of platform threads stands in):
+//
+//   GET  /api/patients?after=<id>          next page by id: {"items": [...], "next_after": id|null}
+//   GET  /api/patients/<id>                one patient
+//   GET  /api/patients/<id>/appointments   the patient's appointments
+//   POST /api/patients                     create; same rules as the Add Patient dialog
+//   GET  /api/doctors, /api/doctors/<id>
+//   GET  /api/appointments?after=<id> | ?doctor=<id>
+//   POST /api/appointments                 create; 409 if the doctor's slot is taken
+//   GET  /api/bills?after=<id>
+//
+// Field names match the CSV/NDJSON export. Requests run fully concurrently:
+// DatabaseManager serves reads from its pool and queues writes on its writer.
+//
+//   java -jar hms-app.jar serve [--db FILE] [--port 8080] [--bind 127.0.0.1]
+final class HttpApi {
+
+    static final int DEFAULT_PORT = 8080;
+    private static final int BACKLOG = 1024;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final DatabaseManager db;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private interface Handler {
+        Response handle(HttpExchange exchange, long id, String sub) throws IOException;
+    }
+
+    private static final class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    // Ends a request with a status and {"error": message}
+    private static final class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    HttpApi(DatabaseManager db, InetSocketAddress address) throws IOException {
+        this.db = db;
+        // The server flushes headers and body separately; with Nagle on, each small reply
+        // waits ~40 ms for the client's delayed ACK. Read once, before the first server starts.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(address, BACKLOG);
+        executor = newPerRequestExecutor("hms-http");
+        server.setExecutor(executor);
+        route("/api/patients", this::patients);
+        route("/api/doctors", this::doctors);
+        route("/api/appointments", this::appointments);
+        route("/api/bills", this::bills);
+    }
+
+    void start() {
+        server.start();
+    }
+
+    void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    int port() {
+        return server.getAddress().getPort();
+    }
+
+    // Virtual-thread-per-task on JDK 21+, looked up reflectively so the build stays on release 17
+    static ExecutorService newPerRequestExecutor(String name) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, name + "-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    static boolean virtualThreadsAvailable() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return Runtime.version().feature() >= 21;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    // Context paths match by prefix; the rest of the path is "/<id>[/<sub>]"
+    private void route(String path, Handler handler) {
+        LatencyHistogram getLatency = Metrics.latency("http.GET " + path);
+        LatencyHistogram postLatency = Metrics.latency("http.POST " + path);
+        server.createContext(path, exchange -> {
+            long start = System.nanoTime();
+            Response response;
+            try {
+                String[] rest = exchange.getRequestURI().getPath().substring(path.length()).split("/");
+                if (rest.length > 3 || (rest.length > 0 && !rest[0].isEmpty())) throw new ApiException(404, "Not found");
+                long id = rest.length > 1 ? parseId(rest[1]) : 0;
+                if (id < 0) throw new ApiException(404, "Not found");
+                response = handler.handle(exchange, id, rest.length > 2 ? rest[2] : null);
+            } catch (ApiException e) {
+                response = error(e.status, e.getMessage());
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                response = error(500, "Internal error");
+            }
+            try {
+                send(exchange, response);
+            } finally {
+                exchange.close();
+                ("POST".equals(exchange.getRequestMethod()) ? postLatency : getLatency).recordSince(start);
+            }
+        });
+    }
+
+    // Patients
+    private Response patients(HttpExchange exchange, long id, String sub) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (id == 0 && sub == null && method.equals("POST")) return createPatient(readBody(exchange));
+        requireGet(method);
+        if (id == 0) {
+            long after = longParam(exchange, "after", 0);
+            List<HMSNeumorphicAppModern.Patient> page = db.loadPatientsPage(after);
+            StringBuilder sb = new StringBuilder(256 * page.size() + 64);
+            Json json = new Json(sb).beginObject().beginArray("items");
+            for (HMSNeumorphicAppModern.Patient p : page) patient(json, p);
+            json.endArray().idField("next_after", page.isEmpty() ? 0 : page.get(page.size() - 1).id).endObject();
+            return ok(sb);
+        }
+        if (sub == null) {
+            HMSNeumorphicAppModern.Patient p = db.loadPatient(id);
+            if (p == null) throw new ApiException(404, "No patient " + id);
+            StringBuilder sb = new StringBuilder(256);
+            patient(new Json(sb), p);
+            return ok(sb);
+        }
+        if (sub.equals("appointments")) {
+            return appointmentList(db.loadAppointmentsForPatient(id));
+        }
+        throw new ApiException(404, "Not found");
+    }
+
+    private Response createPatient(Map<String, String> body) {
+        String name = text(body, "name"), age = text(body, "age"), phone = text(body, "phone"), email = text(body, "email");
+        StringBuilder problems = new StringBuilder();
+        if (name.isEmpty()) problem(problems, "name", "required");
+        if (!Validators.isValidAge(age)) problem(problems, "age", age.isEmpty() ? "required" : "not a whole number from 1 to 150");
+        if (!phone.isEmpty() && !Validators.isValidGhanaPhone(phone)) problem(problems, "phone", "not a Ghana phone number");
+        if (!email.isEmpty() && !Validators.isValidEmail(email)) problem(problems, "email", "not an email address");
+        if (problems.length() > 0) throw new ApiException(400, problems.toString());
+
+        HMSNeumorphicAppModern.Patient p = new HMSNeumorphicAppModern.Patient(name, age, text(body, "gender"),
+                text(body, "blood_type"), phone, email, text(body, "address"), text(body, "emergency_contact"),
+                text(body, "medical_history"), text(body, "allergies"));
+        try {
+            db.savePatient(p);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new ApiException(500, "Patient was not saved");
+        }
+        StringBuilder sb = new StringBuilder(256);
+        patient(new Json(sb), p);
+        return new Response(201, sb.toString());
+    }
+
+    private static void patient(Json json, HMSNeumorphicAppModern.Patient p) {
+        json.beginObject().field("id", p.id).field("name", p.name).field("age", p.age).field("gender", p.gender)
+                .field("blood_type", p.bloodType).field("phone", p.phone).field("email", p.email)
+                .field("address", p.address).field("emergency_contact", p.emergency)
+                .field("medical_history", p.medicalHistory).field("allergies", p.allergies).endObject();
+    }
+
+    // Doctors: a small table, listed whole
+    private Response doctors(HttpExchange exchange, long id, String sub) {
+        requireGet(exchange.getRequestMethod());
+        if (sub != null) throw new ApiException(404, "Not found");
+        StringBuilder sb = new StringBuilder(256);
+        Json json = new Json(sb);
+        if (id == 0) {
+            json.beginObject().beginArray("items");
+            for (HMSNeumorphicAppModern.Doctor d : db.loadDoctors()) doctor(json, d);
+            json.endArray().endObject();
+        } else {
+            HMSNeumorphicAppModern.Doctor d = db.loadDoctor(id);
+            if (d == null) throw new ApiException(404, "No doctor " + id);
+            doctor(json, d);
+        }
+        return ok(sb);
+    }
+
+    private static void doctor(Json json, HMSNeumorphicAppModern.Doctor d) {
+        json.beginObject().field("id", d.id).field("name", d.name).field("specialty", d.specialty)
+                .field("phone", d.phone).endObject();
+    }
+
+    // Appointments
+    private Response appointments(HttpExchange exchange, long id, String sub) throws IOException {
+        String method = exchange.getRequestMethod();
+        if (id != 0 || sub != null) throw new ApiException(404, "Not found");
+        if (method.equals("POST")) return createAppointment(readBody(exchange));
+        requireGet(method);
+        long doctorId = longParam(exchange, "doctor", 0);
+        if (doctorId > 0) return appointmentList(db.loadAppointmentsForDoctor(doctorId));
+
+        long after = longParam(exchange, "after", 0);
+        List<HMSNeumorphicAppModern.Appointment> page = db.loadAppointmentsPage(after);
+        StringBuilder sb = new StringBuilder(200 * page.size() + 64);
+        Json json = new Json(sb).beginObject().beginArray("items");
+        for (HMSNeumorphicAppModern.Appointment a : page) appointment(json, a);
+        json.endArray().idField("next_after", page.isEmpty() ? 0 : page.get(page.size() - 1).id).endObject();
+        return ok(sb);
+    }
+
+    private Response appointmentList(List<HMSNeumorphicAppModern.Appointment> list) {
+        StringBuilder sb = new StringBuilder(200 * list.size() + 32);
+        Json json = new Json(sb).beginObject().beginArray("items");
+        for (HMSNeumorphicAppModern.Appointment a : list) appointment(json, a);
+        json.endArray().endObject();
+        return ok(sb);
+    }
+
+    private Response createAppointment(Map<String, String> body) {
+        String date = text(body, "date"), time = text(body, "time");
+        long patientId = parseId(text(body, "patient_id"));
+        long doctorId = parseId(text(body, "doctor_id"));
+        StringBuilder problems = new StringBuilder();
+        if (patientId <= 0) problem(problems, "patient_id", "required");
+        if (doctorId <= 0) problem(problems, "doctor_id", "required");
+        int day = Validators.toEpochDay(date);
+        if (day == Validators.NO_DATE) problem(problems, "date", "not a dd/MM/yyyy date");
+        if (!Validators.isValidTime(time)) problem(problems, "time", "not an HH:MM time");
+        if (problems.length() > 0) throw new ApiException(400, problems.toString());
+        int minute = HMSNeumorphicAppModern.Appointment.toMinuteOfDay(time);
+
+        HMSNeumorphicAppModern.Patient p = db.loadPatient(patientId);
+        if (p == null) throw new ApiException(400, "patient_id: no such patient");
+        HMSNeumorphicAppModern.Doctor d = db.loadDoctor(doctorId);
+        if (d == null) throw new ApiException(400, "doctor_id: no such doctor");
+        HMSNeumorphicAppModern.Appointment a = new HMSNeumorphicAppModern.Appointment(p.name, d.name,
+                text(body, "type"), date, time, text(body, "notes"), day, minute);
+        a.patientId = patientId;
+        a.doctorId = doctorId;
+        // The slot check and the insert share one write transaction, so two kiosks can't book the same slot
+        boolean free;
+        try {
+            free = db.saveAppointmentIfFree(a);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            throw new ApiException(500, "Appointment was not saved");
+        }
+        if (!free) throw new ApiException(409, d.name + " is already booked at " + date + " " + time);
+        StringBuilder sb = new StringBuilder(256);
+        appointment(new Json(sb), a);
+        return new Response(201, sb.toString());
+    }
+
+    private static void appointment(Json json, HMSNeumorphicAppModern.Appointment a) {
+        json.beginObject().field("id", a.id).idField("patient_id", a.patientId).field("patient_name", a.patient)
+                .idField("doctor_id", a.doctorId).field("doctor_name", a.doctor).field("type", a.type)
+                .field("date", a.date).field("time", a.time).field("notes", a.notes).endObject();
+    }
+
+    // Bills, read only
+    private Response bills(HttpExchange exchange, long id, String sub) {
+        requireGet(exchange.getRequestMethod());
+        if (id != 0 || sub != null) throw new ApiException(404, "Not found");
+        long after = longParam(exchange, "after", 0);
+        List<HMSNeumorphicAppModern.Bill> page = db.loadBillsPage(after);
+        StringBuilder sb = new StringBuilder(300 * page.size() + 64);
+        Json json = new Json(sb).beginObject().beginArray("items");
+        for (HMSNeumorphicAppModern.Bill b : page) {
+            json.beginObject().field("id", b.id).idField("patient_id", b.patientId).field("patient_name", b.patientName)
+                    .idField("doctor_id", b.doctorId)
+                    .field("bill_date", b.epochDay == HMSNeumorphicAppModern.Bill.NO_DATE ? null : LocalDate.ofEpochDay(b.epochDay).toString())
+                    .field("total_cents", b.totalCents).beginArray("services");
+            for (HMSNeumorphicAppModern.Service s : b.services) {
+                json.beginObject().field("service_id", s.id).field("name", s.name).field("price_cents", s.priceCents).endObject();
+            }
+            json.endArray().endObject();
+        }
+        json.endArray().idField("next_after", page.isEmpty() ? 0 : page.get(page.size() - 1).id).endObject();
+        return ok(sb);
+    }
+
+    // Request helpers
+    private static void requireGet(String method) {
+        if (!method.equals("GET")) throw new ApiException(405, method + " not allowed here");
+    }
+
+    private static Map<String, String> readBody(HttpExchange exchange) throws IOException {
+        byte[] bytes;
+        try (InputStream in = exchange.getRequestBody()) {
+            bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (bytes.length > MAX_BODY_BYTES) throw new ApiException(413, "Body larger than " + MAX_BODY_BYTES + " bytes");
+        try {
+            return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "Bad JSON: " + e.getMessage());
+        }
+    }
+
+    private static long longParam(HttpExchange exchange, String name, long fallback) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) return fallback;
+        Map<String, String> params = new HashMap<>();
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        String value = params.get(name);
+        if (value == null) return fallback;
+        long parsed = parseId(value);
+        if (parsed < 0) throw new ApiException(400, name + ": not a number");
+        return parsed;
+    }
+
+    // Non-negative decimal id, or -1
+    private static long parseId(String value) {
+        if (value.isEmpty() || value.length() > 18) return -1;
+        long id = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            id = id * 10 + c - '0';
+        }
+        return id;
+    }
+
+    // Trimmed member text; missing and null read as ""
+    private static String text(Map<String, String> body, String name) {
+        String value = body.get(name);
+        return value == null ? "" : value.trim();
+    }
+
+    private static void problem(StringBuilder problems, String field, String reason) {
+        if (problems.length() > 0) problems.append("; ");
+        problems.append(field).append(": ").append(reason);
+    }
+
+    private static Response ok(StringBuilder body) {
+        return new Response(200, body.toString());
+    }
+
+    private static Response error(int status, String message) {
+        StringBuilder sb = new StringBuilder(64);
+        new Json(sb).beginObject().field("error", message).endObject();
+        return new Response(status, sb.toString());
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] bytes = response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Headless entry point behind `serve`; runs until the process is stopped
+    static int run(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        String db = "hospital_data.db";
+        String bind = "127.0.0.1";
+        int port = DEFAULT_PORT;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--db": db = value; break;
+                    case "--port": port = Integer.parseInt(value); break;
+                    case "--bind": bind = value; break;
+                    default: throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+                i++;
+            }
+            if (db == null || bind == null) throw new IllegalArgumentException("Bad option value");
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: serve [--db FILE] [--port N] [--bind ADDRESS]");
+            return 2;
+        }
+        if (!new File(db).isFile()) {
+            System.err.println(db + " not found");
+            return 1;
+        }
+
+        DatabaseManager manager = new DatabaseManager(db);
+        HttpApi api;
+        try {
+            api = new HttpApi(manager, new InetSocketAddress(bind, port));
+        } catch (IOException e) {
+            System.err.println("Cannot listen on " + bind + ":" + port + ": " + e.getMessage());
+            manager.close();
+            return 1;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            api.stop();
+            manager.close();
+        }));
+        api.start();
+        System.err.printf("Serving %s on http://%s:%d/api/ (%s threads)%n", db, bind, api.port(),
+                virtualThreadsAvailable() ? "virtual" : "platform");
+        return 0;
+    }
+}
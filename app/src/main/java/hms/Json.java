@@ -0,0 +1,209 @@
+package hms;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// ==================================================
+// MINIMAL JSON
+// ==================================================
+// Just enough JSON for HttpApi without a dependency: an append-only object
+// writer and a parser for flat request bodies ({"name": "Ama", "age": 31}).
+// Parsed values come back as strings (null for JSON null); nested objects and
+// arrays are rejected with IllegalArgumentException.
+final class Json {
+
+    private final StringBuilder sb;
+    // Whether the next member needs a leading comma, per nesting level
+    private long needsComma;
+    private int depth;
+
+    Json(StringBuilder sb) {
+        this.sb = sb;
+    }
+
+    Json beginObject() {
+        separate();
+        sb.append('{');
+        push();
+        return this;
+    }
+
+    Json endObject() {
+        depth--;
+        sb.append('}');
+        return this;
+    }
+
+    Json beginArray(String name) {
+        key(name);
+        sb.append('[');
+        push();
+        return this;
+    }
+
+    Json endArray() {
+        depth--;
+        sb.append(']');
+        return this;
+    }
+
+    Json field(String name, String value) {
+        key(name);
+        if (value == null) sb.append("null"); else string(sb, value);
+        return this;
+    }
+
+    Json field(String name, long value) {
+        key(name);
+        sb.append(value);
+        return this;
+    }
+
+    // Ids of 0 mean "not set" throughout the models
+    Json idField(String name, long id) {
+        key(name);
+        if (id > 0) sb.append(id); else sb.append("null");
+        return this;
+    }
+
+    private void key(String name) {
+        separate();
+        string(sb, name);
+        sb.append(':');
+    }
+
+    private void separate() {
+        if (depth == 0) return;
+        long bit = 1L << (depth - 1);
+        if ((needsComma & bit) != 0) sb.append(',');
+        needsComma |= bit;
+    }
+
+    private void push() {
+        depth++;
+        needsComma &= ~(1L << (depth - 1));
+    }
+
+    static void string(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 15, 16));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+
+    // Parses one flat JSON object into member name -> value text
+    static Map<String, String> parseObject(String text) {
+        Parser p = new Parser(text);
+        Map<String, String> members = new LinkedHashMap<>();
+        p.skipSpace();
+        p.expect('{');
+        p.skipSpace();
+        if (p.peek() == '}') {
+            p.pos++;
+        } else {
+            while (true) {
+                p.skipSpace();
+                String name = p.string();
+                p.skipSpace();
+                p.expect(':');
+                p.skipSpace();
+                members.put(name, p.value());
+                p.skipSpace();
+                if (p.peek() == ',') {
+                    p.pos++;
+                    continue;
+                }
+                p.expect('}');
+                break;
+            }
+        }
+        p.skipSpace();
+        if (p.pos != text.length()) throw new IllegalArgumentException("Unexpected text after the object");
+        return members;
+    }
+
+    private static final class Parser {
+        final String text;
+        int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        int peek() {
+            return pos < text.length() ? text.charAt(pos) : -1;
+        }
+
+        void skipSpace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) pos++;
+        }
+
+        void expect(char c) {
+            if (peek() != c) throw new IllegalArgumentException("Expected '" + c + "' at offset " + pos);
+            pos++;
+        }
+
+        String value() {
+            int c = peek();
+            if (c == '"') return string();
+            if (c == '{' || c == '[') throw new IllegalArgumentException("Nested values are not supported");
+            int start = pos;
+            while (pos < text.length() && ",}] \t\r\n".indexOf(text.charAt(pos)) < 0) pos++;
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) throw new IllegalArgumentException("Missing value at offset " + start);
+            if (literal.equals("null")) return null;
+            if (!literal.equals("true") && !literal.equals("false") && !literal.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?")) {
+                throw new IllegalArgumentException("Bad value " + literal);
+            }
+            return literal;
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (pos >= text.length()) throw new IllegalArgumentException("Unterminated string");
+                char c = text.charAt(pos++);
+                if (c == '"') return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) throw new IllegalArgumentException("Unterminated string");
+                char e = text.charAt(pos++);
+                switch (e) {
+                    case '"': case '\\': case '/': sb.append(e); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) throw new IllegalArgumentException("Bad \\u escape");
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw new IllegalArgumentException("Bad \\u escape");
+                        }
+                        pos += 4;
+                        break;
+                    default: throw new IllegalArgumentException("Bad escape \\" + e);
+                }
+            }
+        }
+    }
+}
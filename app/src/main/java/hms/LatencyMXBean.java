@@ -0,0 +1,20 @@
+package hms;
+
+// JMX view of a LatencyHistogram, registered as hms:type=Latency,name=<operation>
+public interface LatencyMXBean {
+    long getCount();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP90Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+
+    void reset();
+}
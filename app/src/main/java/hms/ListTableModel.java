@@ -0,0 +1,82 @@
+package hms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// ==================================================
+// LIST TABLE MODEL
+// ==================================================
+// Table model that views a live in-memory list instead of copying it.
+// Callers append to the list and then call rowsAppended, or edit a row in
+// place and call rowsChanged; views get one coalesced event per burst.
+// Cells are mapped one at a time, so painting or sorting a column never
+// builds the other cells of the row.
+class ListTableModel<T> extends CoalescingTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String[] columns;
+    private final Class<?>[] columnClasses;
+    private final List<? extends Function<? super T, ?>> cellMappers;
+    private List<T> rows = new ArrayList<>();
+
+    public ListTableModel(String[] columns, List<? extends Function<? super T, ?>> cellMappers) {
+        this(columns, null, cellMappers);
+    }
+
+    // cellMappers.get(c) gives column c of a row. columnClasses tells sorters how to
+    // compare each column; null reports every column as Object
+    public ListTableModel(String[] columns, Class<?>[] columnClasses, List<? extends Function<? super T, ?>> cellMappers) {
+        this.columns = columns;
+        this.columnClasses = columnClasses;
+        this.cellMappers = cellMappers;
+    }
+
+    // Mappers for rows that are already arrays of cells
+    static List<Function<Object[], Object>> arrayCells(int columns) {
+        List<Function<Object[], Object>> cells = new ArrayList<>(columns);
+        for (int c = 0; c < columns; c++) {
+            int column = c;
+            cells.add(row -> row[column]);
+        }
+        return cells;
+    }
+
+    // A whole row built from its cell mappers, for search indexes and exports
+    static <T> Object[] row(List<? extends Function<? super T, ?>> cellMappers, T row) {
+        Object[] cells = new Object[cellMappers.size()];
+        for (int c = 0; c < cells.length; c++) cells[c] = cellMappers.get(c).apply(row);
+        return cells;
+    }
+
+    // Views a different list, e.g. after a reload
+    public void setRows(List<T> rows) {
+        this.rows = rows;
+        resetRows(rows.size());
+    }
+
+    public T getRow(int row) {
+        return rows.get(row);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columnClasses == null ? Object.class : columnClasses[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return cellMappers.get(column).apply(rows.get(row));
+    }
+}
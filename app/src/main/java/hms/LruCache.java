@@ -0,0 +1,72 @@
+package hms;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// ==================================================
+// LRU CACHE
+// ==================================================
+// Size-bounded map that drops the least recently read entry, shared by the UI
+// and HTTP threads. Hits and misses are counted as "cache.<name>.hits|misses".
+//
+// A value read from the database can race with a write that invalidates it, so
+// loaders take a stamp() before reading and pass it to put(); the put is
+// dropped if any invalidation happened in between.
+final class LruCache<K, V> {
+
+    private final int capacity;
+    private final Map<K, V> entries;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private long invalidations;
+
+    LruCache(String name, int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<K, V>(Math.min(capacity, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.capacity;
+            }
+        };
+        this.hits = Metrics.counter("cache." + name + ".hits");
+        this.misses = Metrics.counter("cache." + name + ".misses");
+    }
+
+    synchronized V get(K key) {
+        V value = entries.get(key);
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+
+    // Like get, but a miss isn't counted: for a fast path that falls back to a caller of get
+    synchronized V peek(K key) {
+        V value = entries.get(key);
+        if (value != null) hits.increment();
+        return value;
+    }
+
+    synchronized long stamp() {
+        return invalidations;
+    }
+
+    // Caches a value loaded after stamp was taken, unless it may already be stale
+    synchronized void put(K key, V value, long stamp) {
+        if (stamp == invalidations) entries.put(key, value);
+    }
+
+    synchronized void invalidate(K key) {
+        invalidations++;
+        entries.remove(key);
+    }
+
+    synchronized void clear() {
+        invalidations++;
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,94 @@
+package hms;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// ==================================================
+// LATENCY METRICS
+// ==================================================
+// Process-wide registry of latency histograms and counters, keyed by name
+// ("db.loadPatients", "ui.search", ...). Each one is registered with the
+// platform MBean server the first time it is used, so JConsole/VisualVM show
+// live p50/p99 under the "hms" domain; dump() writes the same numbers to a file.
+final class Metrics {
+
+    private static final Map<String, LatencyHistogram> HISTOGRAMS = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+
+    private Metrics() {}
+
+    static LatencyHistogram latency(String name) {
+        LatencyHistogram h = HISTOGRAMS.get(name);
+        if (h != null) return h;
+        return HISTOGRAMS.computeIfAbsent(name, n -> register("Latency", n, new LatencyHistogram()));
+    }
+
+    static LongAdder counter(String name) {
+        Counter c = COUNTERS.get(name);
+        if (c == null) c = COUNTERS.computeIfAbsent(name, n -> register("Counter", n, new Counter()));
+        return c.value;
+    }
+
+    // Appends a timestamped p50/p99 table of everything recorded so far
+    static void dump(Path file) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("== HMS metrics ").append(LocalDateTime.now()).append(" ==\n");
+        sb.append(String.format("%-34s %10s %10s %10s %10s %10s %10s%n",
+                "latency (us)", "count", "mean", "p50", "p90", "p99", "max"));
+        for (Map.Entry<String, LatencyHistogram> e : new TreeMap<>(HISTOGRAMS).entrySet()) {
+            LatencyHistogram h = e.getValue();
+            sb.append(String.format("%-34s %10d %10.1f %10.1f %10.1f %10.1f %10.1f%n", e.getKey(), h.getCount(),
+                    h.getMeanMicros(), h.getP50Micros(), h.getP90Micros(), h.getP99Micros(), h.getMaxMicros()));
+        }
+        if (!COUNTERS.isEmpty()) {
+            sb.append(String.format("%-34s %10s%n", "counter", "value"));
+            for (Map.Entry<String, Counter> e : new TreeMap<>(COUNTERS).entrySet()) {
+                sb.append(String.format("%-34s %10d%n", e.getKey(), e.getValue().getValue()));
+            }
+        }
+        sb.append('\n');
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            out.print(sb);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static <T> T register(String type, String name, T bean) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(bean,
+                    new ObjectName("hms:type=" + type + ",name=" + ObjectName.quote(name)));
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+        return bean;
+    }
+
+    private static final class Counter implements CounterMXBean {
+        final LongAdder value = new LongAdder();
+
+        @Override
+        public long getValue() {
+            return value.sum();
+        }
+
+        @Override
+        public void reset() {
+            value.reset();
+        }
+    }
+}
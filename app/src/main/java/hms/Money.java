@@ -0,0 +1,28 @@
+package hms;
+
+import java.math.BigDecimal;
+
+// ==================================================
+// MONEY
+// ==================================================
+// Amounts are held as long minor units (cents) so totals add up exactly;
+// doubles only appear at the edges, e.g. when reading legacy REAL columns.
+final class Money {
+
+    private Money() {
+    }
+
+    static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    // Parses an amount such as "150" or "75.50"; more than two decimals is an error
+    static long parse(String amount) {
+        return new BigDecimal(amount.trim()).movePointRight(2).longValueExact();
+    }
+
+    static String format(long cents) {
+        long abs = Math.abs(cents);
+        return (cents < 0 ? "-$" : "$") + abs / 100 + "." + (abs % 100 < 10 ? "0" : "") + abs % 100;
+    }
+}
@@ -0,0 +1,207 @@
+package hms;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+// ==================================================
+// PAGED TABLE MODEL
+// ==================================================
+// Table model that only holds the pages currently in view. Rows are fetched
+// from a PageSource with keyset pagination (id > last id of previous page)
+// as the table asks for them, and old pages are evicted in LRU order.
+// Every page's starting id is read in one pass on refresh, so jumping to any
+// page (e.g. dragging the scrollbar to the end) is a single keyset query.
+// Loads are asynchronous: cells of a page still in flight read as null and
+// the rows are repainted once the page arrives.
+class PagedTableModel<T> extends CoalescingTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    // Data access needed to page through a table ordered by an increasing id.
+    // Futures are expected to complete on the EDT.
+    interface PageSource<T> {
+        int pageSize();
+        CompletableFuture<Integer> count();
+        CompletableFuture<List<T>> loadPage(long afterId);
+        // Id of the last row of each full page of pageSize rows, in order
+        CompletableFuture<long[]> pageEnds(int pageSize);
+        long idOf(T row);
+    }
+
+    private static final int MAX_CACHED_PAGES = 16;
+    // What idAt returns, and an anchor holds, until the page is loaded
+    static final long UNKNOWN = -1;
+
+    private final String[] columns;
+    private final Class<?>[] columnClasses;
+    private final PageSource<T> source;
+    private final Function<T, Object[]> rowMapper;
+
+    private int pageSize;
+    // Bumped on refresh so pages requested before it are dropped on arrival
+    private int generation;
+    private final Set<Integer> pending = new HashSet<>();
+    // anchors[k] is the id of the last row before page k, or UNKNOWN until discovered
+    private long[] anchors = {0};
+    private final Map<Integer, Page> pages = new LinkedHashMap<Integer, Page>(MAX_CACHED_PAGES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Page> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+
+    // Mapped cells plus the id of each row, for callers that open the record behind a row
+    private static final class Page {
+        final Object[][] rows;
+        final long[] ids;
+
+        Page(Object[][] rows, long[] ids) {
+            this.rows = rows;
+            this.ids = ids;
+        }
+    }
+
+    public PagedTableModel(String[] columns, PageSource<T> source, Function<T, Object[]> rowMapper) {
+        this(columns, null, source, rowMapper);
+    }
+
+    // columnClasses tells renderers what each column holds; null reports every column as Object
+    public PagedTableModel(String[] columns, Class<?>[] columnClasses, PageSource<T> source, Function<T, Object[]> rowMapper) {
+        this.columns = columns;
+        this.columnClasses = columnClasses;
+        this.source = source;
+        this.rowMapper = rowMapper;
+        this.pageSize = source.pageSize();
+    }
+
+    // Re-reads the row count and page anchors and drops every cached page
+    public CompletableFuture<Void> refresh() {
+        int gen = ++generation;
+        int size = source.pageSize();
+        return source.count().thenCombine(source.pageEnds(size), (count, ends) -> {
+            if (gen != generation) return null;
+            pageSize = size;
+            anchors = new long[Math.max(1, pageCount(count))];
+            Arrays.fill(anchors, UNKNOWN);
+            anchors[0] = 0;
+            // The two reads may straddle an insert; pages beyond either stay UNKNOWN
+            System.arraycopy(ends, 0, anchors, 1, Math.min(ends.length, anchors.length - 1));
+            pages.clear();
+            pending.clear();
+            resetRows(count);
+            return null;
+        });
+    }
+
+    // New rows always get the highest ids, so they land at the end of the model
+    @Override
+    protected void rowsWillBeInserted(int first, int last) {
+        int oldLength = anchors.length;
+        int newLength = Math.max(1, pageCount(last + 1));
+        if (newLength > oldLength) {
+            anchors = Arrays.copyOf(anchors, newLength);
+            Arrays.fill(anchors, oldLength, newLength, UNKNOWN);
+        }
+        pages.remove(first / pageSize);
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return columnClasses == null ? Object.class : columnClasses[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int index = row / pageSize;
+        Page page = pages.get(index);
+        if (page == null) {
+            requestPage(index);
+            return null;
+        }
+        int offset = row % pageSize;
+        return offset < page.rows.length ? page.rows[offset][column] : null;
+    }
+
+    // Id of the row, or -1 while its page isn't loaded
+    public long idAt(int row) {
+        Page page = pages.get(row / pageSize);
+        int offset = row % pageSize;
+        return page != null && offset < page.ids.length ? page.ids[offset] : UNKNOWN;
+    }
+
+    private void requestPage(int index) {
+        if (!pending.add(index)) return;
+
+        int gen = generation;
+        anchor(index)
+                .thenCompose(afterId -> afterId == UNKNOWN
+                        ? CompletableFuture.completedFuture(Collections.<T>emptyList())
+                        : source.loadPage(afterId))
+                .whenComplete((rows, ex) -> {
+                    if (gen != generation) return;
+                    pending.remove(index);
+                    if (ex != null) {
+                        ex.printStackTrace();
+                        return;
+                    }
+                    pageLoaded(index, rows);
+                });
+    }
+
+    private void pageLoaded(int index, List<T> rows) {
+        Object[][] cells = new Object[rows.size()][];
+        long[] ids = new long[rows.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = rowMapper.apply(rows.get(i));
+            ids[i] = source.idOf(rows.get(i));
+        }
+        if (rows.size() == pageSize && index + 1 < anchors.length) {
+            anchors[index + 1] = ids[ids.length - 1];
+        }
+        pages.put(index, new Page(cells, ids));
+
+        int first = index * pageSize;
+        int last = Math.min(first + pageSize, getRowCount()) - 1;
+        if (first <= last) rowsChanged(first, last);
+    }
+
+    // Only pages appended since the last refresh lack an anchor; their ids are found by
+    // loading forward, page by page, from the closest known anchor below
+    private CompletableFuture<Long> anchor(int index) {
+        if (anchors[index] != UNKNOWN) return CompletableFuture.completedFuture(anchors[index]);
+
+        long[] target = anchors;
+        int size = pageSize;
+        return anchor(index - 1)
+                .thenCompose(afterId -> afterId == UNKNOWN
+                        ? CompletableFuture.completedFuture(Collections.<T>emptyList())
+                        : source.loadPage(afterId))
+                .thenApply(rows -> {
+                    if (rows.size() < size) return UNKNOWN;
+                    long id = source.idOf(rows.get(rows.size() - 1));
+                    if (target == anchors) anchors[index] = id;
+                    return id;
+                });
+    }
+
+    private int pageCount(int rows) {
+        return (rows + pageSize - 1) / pageSize;
+    }
+}
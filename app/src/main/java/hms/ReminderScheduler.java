@@ -0,0 +1,120 @@
+package hms;
+
+import javax.swing.SwingUtilities;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// ==================================================
+// APPOINTMENT REMINDERS
+// ==================================================
+// Keeps upcoming appointments in a queue ordered by reminder time and sleeps
+// until the earliest one is due. Each wake-up only pops what is due, so its
+// cost depends on the number of reminders fired, not on the appointment count.
+class ReminderScheduler {
+
+    private static class Reminder {
+        final HMSNeumorphicAppModern.Appointment appointment;
+        final long dueAt;
+
+        Reminder(HMSNeumorphicAppModern.Appointment appointment, long dueAt) {
+            this.appointment = appointment;
+            this.dueAt = dueAt;
+        }
+    }
+
+    private final long leadMillis;
+    private final Consumer<List<HMSNeumorphicAppModern.Appointment>> onDue;
+    private final PriorityQueue<Reminder> queue = new PriorityQueue<>(Comparator.comparingLong((Reminder r) -> r.dueAt));
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "hms-reminders");
+        t.setDaemon(true);
+        return t;
+    });
+    private ScheduledFuture<?> wakeUp;
+    private long wakeUpAt = Long.MAX_VALUE;
+
+    // onDue receives the appointments whose reminders fell due, on the EDT
+    public ReminderScheduler(long leadMinutes, Consumer<List<HMSNeumorphicAppModern.Appointment>> onDue) {
+        this.leadMillis = TimeUnit.MINUTES.toMillis(leadMinutes);
+        this.onDue = onDue;
+    }
+
+    // Replaces everything queued, e.g. after the appointments have been (re)loaded.
+    // Rows are screened on their day column, so only upcoming appointments are read in full.
+    public synchronized void reset(AppointmentStore appointments) {
+        queue.clear();
+        long now = System.currentTimeMillis();
+        int today = (int) LocalDate.now().toEpochDay();
+        for (int row = 0; row < appointments.size(); row++) {
+            int epochDay = appointments.epochDay(row);
+            if (epochDay < today) continue;
+            long startsAt = startsAt(epochDay, appointments.minuteOfDay(row));
+            if (startsAt > now) queue.add(new Reminder(appointments.get(row), startsAt - leadMillis));
+        }
+        reschedule();
+    }
+
+    public synchronized void schedule(HMSNeumorphicAppModern.Appointment appointment) {
+        if (offer(appointment, System.currentTimeMillis())) reschedule();
+    }
+
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    // Queues the appointment unless it has already started; a reminder whose lead
+    // time has passed but whose appointment hasn't started fires right away
+    private boolean offer(HMSNeumorphicAppModern.Appointment a, long now) {
+        if (a.epochDay == HMSNeumorphicAppModern.Appointment.NO_DATE) return false;
+        long startsAt = startsAt(a.epochDay, a.minuteOfDay);
+        if (startsAt <= now) return false;
+        queue.add(new Reminder(a, startsAt - leadMillis));
+        return true;
+    }
+
+    private static long startsAt(int epochDay, int minuteOfDay) {
+        int minute = minuteOfDay == HMSNeumorphicAppModern.Appointment.NO_TIME ? 0 : minuteOfDay;
+        return LocalDate.ofEpochDay(epochDay).atStartOfDay(ZoneId.systemDefault())
+                .plusMinutes(minute).toInstant().toEpochMilli();
+    }
+
+    private void fire() {
+        List<HMSNeumorphicAppModern.Appointment> due = new ArrayList<>();
+        synchronized (this) {
+            wakeUpAt = Long.MAX_VALUE;
+            long now = System.currentTimeMillis();
+            while (!queue.isEmpty() && queue.peek().dueAt <= now) {
+                due.add(queue.poll().appointment);
+            }
+            reschedule();
+        }
+        if (!due.isEmpty()) {
+            SwingUtilities.invokeLater(() -> onDue.accept(due));
+        }
+    }
+
+    // Arms the timer for the head of the queue if it isn't already armed for it
+    private void reschedule() {
+        Reminder head = queue.peek();
+        long nextAt = head == null ? Long.MAX_VALUE : head.dueAt;
+        if (nextAt == wakeUpAt || timer.isShutdown()) return;
+
+        if (wakeUp != null) wakeUp.cancel(false);
+        wakeUpAt = nextAt;
+        if (head == null) {
+            wakeUp = null;
+            return;
+        }
+        long delay = Math.max(0, nextAt - System.currentTimeMillis());
+        wakeUp = timer.schedule(this::fire, delay, TimeUnit.MILLISECONDS);
+    }
+}
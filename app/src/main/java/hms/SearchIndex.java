@@ -0,0 +1,331 @@
+package hms;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+// ==================================================
+// TYPE-AHEAD SEARCH INDEX
+// ==================================================
+// Per-column prefix index over the rows of a table model. Every cell is indexed
+// by each lower-cased word in it (and its whole value if punctuated), so "024"
+// finds phone numbers and "kof" finds "Kofi Mensah". Queries are whitespace-separated terms
+// that must all match; a term like "phone:024" is limited to one column.
+// Columns of TypedCell values also keep their keys sorted, so range terms such
+// as "age 60-80", "total > 500" or "date>=1/3/2026" are two binary searches.
+// Results are row numbers in model order, so a RowFilter can test membership
+// without reading any cell values.
+//
+// Bulk (re)builds run off the EDT; install, add and search are EDT-only.
+class SearchIndex {
+
+    // Spaces around a comparison, and around a dash between two numbers, are dropped
+    // so "total > 500" and "age 60 - 80" tokenize like "total>500" and "age 60-80"
+    private static final Pattern SPACED_OPERATOR = Pattern.compile("\\s*(>=|<=|>|<|=)\\s*");
+    private static final Pattern SPACED_DASH = Pattern.compile("(?<=\\d)\\s*[-\u2013]\\s*(?=\\d)");
+
+    private final String[] fields;
+    private ColumnIndex[] columns;
+    // Bumped by each rebuild so one that finishes after a later one is dropped
+    private int generation;
+
+    public SearchIndex(String[] columnNames) {
+        fields = new String[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++) {
+            fields[i] = columnNames[i].toLowerCase(Locale.ROOT).replace(" ", "");
+        }
+        columns = emptyColumns(fields.length);
+    }
+
+    // Indexes rows in the background, then swaps the result in on the EDT and catches up
+    // on any rows appended to the live list in the meantime; the future completes after that,
+    // on the EDT. Called on the EDT; only the latest rebuild is installed, so e.g. quick
+    // doctor switches never leave a stale index.
+    public <T> CompletableFuture<Void> rebuild(List<T> rows, Function<T, Object[]> mapper) {
+        List<T> snapshot = new ArrayList<>(rows);
+        return rebuild(snapshot.size(), row -> mapper.apply(snapshot.get(row)),
+                rows::size, row -> mapper.apply(rows.get(row)));
+    }
+
+    // The same for row-numbered data such as AppointmentStore: the first `count` rows are
+    // read in the background through snapshotRow, later ones on the EDT through liveRow
+    public CompletableFuture<Void> rebuild(int count, IntFunction<Object[]> snapshotRow,
+                                           IntSupplier liveCount, IntFunction<Object[]> liveRow) {
+        int gen = ++generation;
+        return CompletableFuture.supplyAsync(() -> build(count, snapshotRow)).thenAcceptAsync(built -> {
+            if (gen != generation) return;
+            columns = built;
+            for (int row = count, last = liveCount.getAsInt(); row < last; row++) {
+                add(row, liveRow.apply(row));
+            }
+        }, SwingUtilities::invokeLater);
+    }
+
+    // Adds a row appended to the model since the last rebuild
+    public void add(int row, Object[] values) {
+        for (int c = 0; c < columns.length; c++) {
+            for (String term : terms(values[c])) {
+                columns[c].delta.computeIfAbsent(term, k -> new IntList()).add(row);
+            }
+            if (values[c] instanceof TypedCell) columns[c].addKey((TypedCell) values[c], row);
+        }
+    }
+
+    // Rows matching every term of the query, or null for a blank query (no filtering)
+    public BitSet search(String query) {
+        String normalized = SPACED_DASH.matcher(query.trim().toLowerCase(Locale.ROOT)).replaceAll("-");
+        normalized = SPACED_OPERATOR.matcher(normalized).replaceAll("$1");
+        String[] terms = normalized.split("\\s+");
+        if (terms.length == 0 || terms[0].isEmpty()) return null;
+
+        BitSet result = null;
+        for (int t = 0; t < terms.length; t++) {
+            String term = terms[t];
+            BitSet matches = new BitSet();
+            int column = -1;
+            int split = fieldEnd(term);
+            if (split > 0) column = Arrays.asList(fields).indexOf(term.substring(0, split));
+            String bound = split > 0 ? term.substring(term.charAt(split) == ':' ? split + 1 : split) : null;
+
+            if (column >= 0 && columns[column].kind != null && isRange(bound)) {
+                columns[column].rangeMatch(bound, matches);
+            } else if (split < 0 && t + 1 < terms.length
+                    && (column = Arrays.asList(fields).indexOf(term)) >= 0
+                    && columns[column].kind != null && isRange(terms[t + 1])) {
+                // A typed field name followed by its range: "age 60-80", "total >500"
+                columns[column].rangeMatch(terms[++t], matches);
+            } else if (split > 0 && column >= 0 && term.charAt(split) == ':') {
+                columns[column].prefixMatch(bound, matches);
+            } else {
+                // Not a known field (e.g. a time like 09:30): match the whole term anywhere
+                for (ColumnIndex index : columns) index.prefixMatch(term, matches);
+            }
+
+            if (result == null) {
+                result = matches;
+            } else {
+                result.and(matches);
+            }
+            if (result.isEmpty()) break;
+        }
+        return result;
+    }
+
+    // End of the field name in "field:value" or "field>value", or -1 if the term has none
+    private static int fieldEnd(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            char ch = term.charAt(i);
+            if (ch == ':' || ch == '>' || ch == '<' || ch == '=') return i;
+        }
+        return -1;
+    }
+
+    // ">500", "<=80", "=60" or "60-80"; a plain value stays a prefix match
+    private static boolean isRange(String bound) {
+        if (bound == null || bound.isEmpty()) return false;
+        char first = bound.charAt(0);
+        return first == '>' || first == '<' || first == '=' || bound.indexOf('-') > 0;
+    }
+
+    // Columns are independent, so each one is built on its own fork-join worker
+    private ColumnIndex[] build(int count, IntFunction<Object[]> rowAt) {
+        Object[][] values = new Object[count][];
+        for (int row = 0; row < values.length; row++) {
+            values[row] = rowAt.apply(row);
+        }
+
+        ColumnIndex[] built = emptyColumns(fields.length);
+        IntStream.range(0, fields.length).parallel().forEach(c -> {
+            Map<String, IntList> postings = new HashMap<>();
+            for (int row = 0; row < values.length; row++) {
+                for (String term : terms(values[row][c])) {
+                    postings.computeIfAbsent(term, k -> new IntList()).add(row);
+                }
+            }
+            built[c].freeze(postings);
+            built[c].freezeKeys(values, c);
+        });
+        return built;
+    }
+
+    private static ColumnIndex[] emptyColumns(int count) {
+        ColumnIndex[] columns = new ColumnIndex[count];
+        for (int c = 0; c < count; c++) columns[c] = new ColumnIndex();
+        return columns;
+    }
+
+    // Each alphanumeric word in the cell, plus the whole value when it has punctuation
+    // (emails, amounts, times) that a word-by-word match could not reproduce
+    private static List<String> terms(Object value) {
+        List<String> terms = new ArrayList<>(4);
+        if (value == null) return terms;
+        String text = value.toString().trim().toLowerCase(Locale.ROOT);
+        if (text.isEmpty()) return terms;
+
+        boolean punctuated = false;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            char ch = i < text.length() ? text.charAt(i) : ' ';
+            boolean wordChar = Character.isLetterOrDigit(ch);
+            if (!wordChar && !Character.isWhitespace(ch)) punctuated = true;
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (start > 0 || i < text.length()) terms.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        if (punctuated || terms.isEmpty()) terms.add(text);
+        return terms;
+    }
+
+    // Sorted term dictionary with packed postings, plus a small map for rows added since
+    private static class ColumnIndex {
+        String[] terms = new String[0];
+        int[] offsets = {0};
+        int[] postings = new int[0];
+        final TreeMap<String, IntList> delta = new TreeMap<>();
+
+        // For TypedCell columns: every key in ascending order with the row holding it,
+        // plus the keys of rows added since, unsorted
+        TypedCell.Kind kind;
+        long[] keys = new long[0];
+        int[] keyRows = new int[0];
+        long[] addedKeys = new long[0];
+        int[] addedRows = new int[0];
+        int added;
+
+        void freezeKeys(Object[][] values, int c) {
+            long[] rowKeys = new long[values.length];
+            int[] rows = new int[values.length];
+            int n = 0;
+            for (int row = 0; row < values.length; row++) {
+                if (!(values[row][c] instanceof TypedCell)) continue;
+                TypedCell cell = (TypedCell) values[row][c];
+                kind = cell.kind;
+                if (cell.key == TypedCell.NO_KEY) continue;
+                rowKeys[n] = cell.key;
+                rows[n++] = row;
+            }
+            if (kind == null) return;
+
+            // Sort the keys, then drop each row into the next free slot of its key's run
+            keys = Arrays.copyOf(rowKeys, n);
+            Arrays.sort(keys);
+            keyRows = new int[n];
+            int[] filled = new int[n];
+            for (int i = 0; i < n; i++) {
+                int first = lowerBound(keys, n, rowKeys[i]);
+                keyRows[first + filled[first]++] = rows[i];
+            }
+        }
+
+        void addKey(TypedCell cell, int row) {
+            kind = cell.kind;
+            if (cell.key == TypedCell.NO_KEY) return;
+            if (added == addedKeys.length) {
+                addedKeys = Arrays.copyOf(addedKeys, Math.max(8, added * 2));
+                addedRows = Arrays.copyOf(addedRows, addedKeys.length);
+            }
+            addedKeys[added] = cell.key;
+            addedRows[added++] = row;
+        }
+
+        // Rows whose key satisfies ">x", ">=x", "<x", "<=x", "=x" or "x-y" (inclusive); a bound
+        // that doesn't parse for this column's kind matches nothing
+        void rangeMatch(String bound, BitSet out) {
+            long lo = Long.MIN_VALUE + 1, hi = Long.MAX_VALUE;
+            if (bound.startsWith(">=")) {
+                lo = kind.parse(bound.substring(2));
+            } else if (bound.startsWith("<=")) {
+                hi = kind.parse(bound.substring(2));
+            } else if (bound.startsWith(">")) {
+                lo = kind.parse(bound.substring(1));
+                if (lo != TypedCell.NO_KEY) lo++;
+            } else if (bound.startsWith("<")) {
+                hi = kind.parse(bound.substring(1));
+                if (hi != TypedCell.NO_KEY) hi--;
+            } else if (bound.startsWith("=")) {
+                lo = hi = kind.parse(bound.substring(1));
+            } else {
+                int dash = bound.indexOf('-');
+                lo = kind.parse(bound.substring(0, dash));
+                hi = kind.parse(bound.substring(dash + 1));
+            }
+            if (lo == TypedCell.NO_KEY || hi == TypedCell.NO_KEY || lo > hi) return;
+
+            int from = lowerBound(keys, keys.length, lo);
+            int to = hi == Long.MAX_VALUE ? keys.length : lowerBound(keys, keys.length, hi + 1);
+            for (int i = from; i < to; i++) out.set(keyRows[i]);
+            for (int i = 0; i < added; i++) {
+                if (addedKeys[i] >= lo && addedKeys[i] <= hi) out.set(addedRows[i]);
+            }
+        }
+
+        private static int lowerBound(long[] sorted, int n, long key) {
+            int lo = 0, hi = n;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sorted[mid] < key) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        void freeze(Map<String, IntList> map) {
+            terms = map.keySet().toArray(new String[0]);
+            Arrays.sort(terms);
+            offsets = new int[terms.length + 1];
+            int total = 0;
+            for (int i = 0; i < terms.length; i++) {
+                offsets[i] = total;
+                total += map.get(terms[i]).size;
+            }
+            offsets[terms.length] = total;
+            postings = new int[total];
+            for (int i = 0; i < terms.length; i++) {
+                IntList rows = map.get(terms[i]);
+                System.arraycopy(rows.values, 0, postings, offsets[i], rows.size);
+            }
+        }
+
+        // Terms sharing a prefix are adjacent, so their postings form one contiguous run
+        void prefixMatch(String prefix, BitSet out) {
+            String end = prefix + Character.MAX_VALUE;
+            for (int p = offsets[lowerBound(prefix)], last = offsets[lowerBound(end)]; p < last; p++) {
+                out.set(postings[p]);
+            }
+            SortedMap<String, IntList> added = delta.subMap(prefix, end);
+            for (IntList rows : added.values()) {
+                for (int p = 0; p < rows.size; p++) out.set(rows.values[p]);
+            }
+        }
+
+        private int lowerBound(String key) {
+            int i = Arrays.binarySearch(terms, key);
+            return i < 0 ? -i - 1 : i;
+        }
+    }
+
+    private static class IntList {
+        int[] values = new int[2];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package hms;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+// ==================================================
+// SERVICE CATALOG
+// ==================================================
+// In-memory copy of the services table, kept sorted by name. Loaded once at
+// startup and updated in place when a service is added, so dialogs can list
+// a full tariff without querying. Entries carry their database id, which is
+// what bills reference. EDT-only.
+class ServiceCatalog {
+
+    private static final Comparator<HMSNeumorphicAppModern.Service> BY_NAME =
+            Comparator.comparing((HMSNeumorphicAppModern.Service s) -> s.name, String.CASE_INSENSITIVE_ORDER);
+
+    private List<HMSNeumorphicAppModern.Service> services = new ArrayList<>();
+
+    // Swaps in a freshly loaded catalog
+    public void replace(List<HMSNeumorphicAppModern.Service> loaded) {
+        List<HMSNeumorphicAppModern.Service> sorted = new ArrayList<>(loaded);
+        sorted.sort(BY_NAME);
+        services = sorted;
+    }
+
+    // Inserts a newly saved service in name order
+    public void add(HMSNeumorphicAppModern.Service s) {
+        int pos = Collections.binarySearch(services, s, BY_NAME);
+        services.add(pos < 0 ? -pos - 1 : pos, s);
+    }
+
+    // Names are unique in the table, ignoring case here to avoid near-duplicates
+    public boolean contains(String name) {
+        return Collections.binarySearch(services, new HMSNeumorphicAppModern.Service(name, 0), BY_NAME) >= 0;
+    }
+
+    public List<HMSNeumorphicAppModern.Service> services() {
+        return Collections.unmodifiableList(services);
+    }
+}
@@ -0,0 +1,247 @@
+package hms;
+
+import org.sqlite.SQLiteConfig;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// ==================================================
+// SQLITE CONNECTION LAYER
+// ==================================================
+// The connections behind DatabaseManager, for a hospital_data.db that several
+// workstations may share:
+//
+//   - the file is switched to WAL, so readers never block the writer or each other
+//   - reads borrow one of a few read-only connections
+//   - writes run one at a time on the "hms-db-writer" thread, on the only
+//     read-write connection, in BEGIN IMMEDIATE transactions; SQLITE_BUSY from
+//     another process is retried with jittered exponential backoff
+//   - every connection waits up to BUSY_TIMEOUT_MILLIS on a lock before failing
+//   - each connection keeps its prepared statements, so a SQL string is compiled
+//     once per connection rather than on every call
+final class SqliteConnections implements AutoCloseable {
+
+    static final int BUSY_TIMEOUT_MILLIS = 5000;
+    static final int DEFAULT_READERS = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int STATEMENT_CACHE_SIZE = 64;
+    private static final int WRITE_ATTEMPTS = 8;
+    private static final long FIRST_BACKOFF_MILLIS = 10;
+    private static final long MAX_BACKOFF_MILLIS = 1000;
+    private static final LatencyHistogram WRITE_QUEUE = Metrics.latency("db.writeQueue");
+    private static final LongAdder BUSY_RETRIES = Metrics.counter("db.busyRetries");
+
+    // Work against one connection; may throw to roll back
+    interface Work<T> {
+        T run(Handle handle) throws SQLException;
+    }
+
+    // A connection with its statement cache; used by one thread at a time
+    static final class Handle {
+        final Connection connection;
+        private final Map<String, PreparedStatement> statements =
+                new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                        if (size() <= STATEMENT_CACHE_SIZE) return false;
+                        closeQuietly(eldest.getValue());
+                        return true;
+                    }
+                };
+
+        Handle(Connection connection) {
+            this.connection = connection;
+        }
+
+        // Cached statement for sql; callers bind every parameter and must not close it
+        PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement stmt = statements.get(sql);
+            if (stmt == null) {
+                stmt = connection.prepareStatement(sql);
+                statements.put(sql, stmt);
+            }
+            return stmt;
+        }
+
+        // Runs work in one transaction, rolling back if it throws
+        <T> T inTransaction(Work<T> work) throws SQLException {
+            connection.setAutoCommit(false);
+            try {
+                T result = work.run(this);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException rollbackError) {
+                    e.addSuppressed(rollbackError);
+                }
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+
+        long lastInsertId() throws SQLException {
+            try (ResultSet rs = prepare("SELECT last_insert_rowid()").executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+
+        void close() {
+            for (PreparedStatement stmt : statements.values()) closeQuietly(stmt);
+            statements.clear();
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+
+        private static void closeQuietly(PreparedStatement stmt) {
+            try {
+                stmt.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private final Handle writer;
+    private final List<Handle> readers = new ArrayList<>();
+    private final BlockingQueue<Handle> idleReaders;
+    private final ExecutorService writerThread;
+    private volatile Thread writerThreadRef;
+
+    SqliteConnections(String path, int readerCount) throws SQLException {
+        String url = "jdbc:sqlite:" + path;
+
+        SQLiteConfig writeConfig = new SQLiteConfig();
+        writeConfig.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        writeConfig.setBusyTimeout(BUSY_TIMEOUT_MILLIS);
+        writeConfig.enforceForeignKeys(true);
+        // Take the write lock when the transaction starts, not at its first write: a deferred
+        // transaction that has read can't wait for the lock and fails with SQLITE_BUSY at once
+        writeConfig.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+        writer = new Handle(DriverManager.getConnection(url, writeConfig.toProperties()));
+
+        idleReaders = new ArrayBlockingQueue<>(readerCount);
+        try {
+            SQLiteConfig readConfig = new SQLiteConfig();
+            readConfig.setReadOnly(true);
+            readConfig.setBusyTimeout(BUSY_TIMEOUT_MILLIS);
+            for (int i = 0; i < readerCount; i++) {
+                Handle reader = new Handle(DriverManager.getConnection(url, readConfig.toProperties()));
+                readers.add(reader);
+                idleReaders.add(reader);
+            }
+        } catch (SQLException e) {
+            for (Handle reader : readers) reader.close();
+            writer.close();
+            throw e;
+        }
+
+        writerThread = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "hms-db-writer");
+            t.setDaemon(true);
+            writerThreadRef = t;
+            return t;
+        });
+    }
+
+    // Runs work on an idle read-only connection, waiting for one if all are busy
+    <T> T read(Work<T> work) throws SQLException {
+        Handle reader;
+        try {
+            reader = idleReaders.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a read connection", e);
+        }
+        try {
+            return work.run(reader);
+        } finally {
+            idleReaders.add(reader);
+        }
+    }
+
+    // Runs work on the writer thread and waits for it. The whole unit is retried
+    // when the database is busy, so work must not depend on state it left behind.
+    <T> T write(Work<T> work) throws SQLException {
+        if (Thread.currentThread() == writerThreadRef) return withRetry(work);
+        long queued = System.nanoTime();
+        Future<T> result = writerThread.submit(() -> {
+            WRITE_QUEUE.recordSince(queued);
+            return withRetry(work);
+        });
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a write", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) throw (SQLException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new SQLException(cause);
+        }
+    }
+
+    private <T> T withRetry(Work<T> work) throws SQLException {
+        long backoff = FIRST_BACKOFF_MILLIS;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return work.run(writer);
+            } catch (SQLException e) {
+                if (!isBusy(e) || attempt == WRITE_ATTEMPTS) throw e;
+                BUSY_RETRIES.increment();
+                if (!writer.connection.getAutoCommit()) {
+                    writer.connection.rollback();
+                    writer.connection.setAutoCommit(true);
+                }
+                try {
+                    Thread.sleep(backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    // SQLITE_BUSY (5) or SQLITE_LOCKED (6), including their extended codes
+    private static boolean isBusy(SQLException e) {
+        int primary = e.getErrorCode() & 0xff;
+        return primary == 5 || primary == 6;
+    }
+
+    // Lets queued writes finish, then closes every connection
+    @Override
+    public void close() {
+        writerThread.shutdown();
+        try {
+            if (!writerThread.awaitTermination(BUSY_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) writerThread.shutdownNow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Handle reader : readers) reader.close();
+        writer.close();
+    }
+}
@@ -0,0 +1,240 @@
+package hms;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+// ==================================================
+// STREAMING TABLE EXPORT
+// ==================================================
+// Encodes a forward-only ResultSet as CSV (RFC 4180, header row) or NDJSON
+// (one JSON object per line) straight into a WritableByteChannel. Rows are
+// appended to one reusable StringBuilder and UTF-8 encoded through a fixed
+// direct buffer, so memory stays flat whatever the table size.
+// DatabaseManager.export runs the queries; run() is the headless CLI:
+//
+//   java -jar hms-app.jar export bills --format ndjson --gzip --out bills.ndjson.gz
+final class TableExport {
+
+    enum Format { CSV, NDJSON }
+
+    enum Table { PATIENTS, APPOINTMENTS, BILLS }
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+    // Rows are encoded once this many chars are pending
+    private static final int FLUSH_CHARS = 16 * 1024;
+
+    private final WritableByteChannel out;
+    private final Format format;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final StringBuilder pending = new StringBuilder(FLUSH_CHARS + 1024);
+
+    private String[] names;
+    private boolean[] integer;
+    private long rows;
+
+    TableExport(WritableByteChannel out, Format format) {
+        this.out = out;
+        this.format = format;
+    }
+
+    // Opens path for writing, replacing any existing file, gzip-compressed if asked
+    static WritableByteChannel open(Path path, boolean gzip) throws IOException {
+        FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        if (!gzip) return file;
+        return Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(file), BUFFER_BYTES));
+    }
+
+    // Writes every remaining row of rs; returns the number written
+    long write(ResultSet rs) throws SQLException, IOException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columns = meta.getColumnCount();
+        names = new String[columns];
+        integer = new boolean[columns];
+        for (int i = 0; i < columns; i++) {
+            names[i] = meta.getColumnLabel(i + 1);
+            // Declared INTEGER columns are emitted as JSON numbers; everything else as text
+            integer[i] = "INTEGER".equalsIgnoreCase(meta.getColumnTypeName(i + 1));
+        }
+        if (format == Format.CSV) {
+            for (int i = 0; i < columns; i++) {
+                if (i > 0) pending.append(',');
+                csv(names[i]);
+            }
+            pending.append("\r\n");
+        }
+
+        while (rs.next()) {
+            if (format == Format.CSV) csvRow(rs); else jsonRow(rs);
+            rows++;
+            if (pending.length() >= FLUSH_CHARS) encodePending();
+        }
+        finish();
+        return rows;
+    }
+
+    private void csvRow(ResultSet rs) throws SQLException {
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) pending.append(',');
+            if (integer[i]) {
+                long value = rs.getLong(i + 1);
+                if (!rs.wasNull()) pending.append(value);
+            } else {
+                String value = rs.getString(i + 1);
+                if (value != null) csv(value);
+            }
+        }
+        pending.append("\r\n");
+    }
+
+    private void csv(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            pending.append(value);
+            return;
+        }
+        pending.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') pending.append('"');
+            pending.append(c);
+        }
+        pending.append('"');
+    }
+
+    private void jsonRow(ResultSet rs) throws SQLException {
+        pending.append('{');
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) pending.append(',');
+            json(names[i]);
+            pending.append(':');
+            if (integer[i]) {
+                long value = rs.getLong(i + 1);
+                if (rs.wasNull()) pending.append("null"); else pending.append(value);
+            } else {
+                String value = rs.getString(i + 1);
+                if (value == null) pending.append("null"); else json(value);
+            }
+        }
+        pending.append("}\n");
+    }
+
+    private void json(String value) {
+        Json.string(pending, value);
+    }
+
+    // Pending text always ends on a row boundary, so no surrogate pair is split
+    private void encodePending() throws IOException {
+        CharBuffer chars = CharBuffer.wrap(pending);
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, false);
+            if (result.isOverflow()) {
+                drain();
+            } else {
+                break;
+            }
+        }
+        pending.setLength(0);
+    }
+
+    private void finish() throws IOException {
+        encodePending();
+        encoder.encode(CharBuffer.allocate(0), buffer, true);
+        while (encoder.flush(buffer).isOverflow()) drain();
+        drain();
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) out.write(buffer);
+        buffer.clear();
+    }
+
+    // Headless entry point behind `export`; returns the process exit code
+    static int run(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        String db = "hospital_data.db";
+        String outFile = null;
+        Format format = Format.CSV;
+        boolean gzip = false;
+        Table table;
+        try {
+            if (args.length == 0) throw new IllegalArgumentException("Missing table");
+            table = parse(Table.class, args[0]);
+            for (int i = 1; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--db": db = value; i++; break;
+                    case "--out": outFile = value; i++; break;
+                    case "--format": format = parse(Format.class, value); i++; break;
+                    case "--gzip": gzip = true; break;
+                    default: throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            if (db == null) throw new IllegalArgumentException("Bad option value");
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: export patients|appointments|bills [--db FILE] [--format csv|ndjson] [--gzip] [--out FILE|-]");
+            return 2;
+        }
+        if (!new File(db).isFile()) {
+            System.err.println(db + " not found");
+            return 1;
+        }
+        if (outFile == null) {
+            outFile = table.name().toLowerCase(Locale.ROOT) + "." + format.name().toLowerCase(Locale.ROOT) + (gzip ? ".gz" : "");
+        }
+
+        long started = System.nanoTime();
+        DatabaseManager manager = new DatabaseManager(db);
+        try (WritableByteChannel out = outFile.equals("-") ? stdout(gzip) : open(Paths.get(outFile), gzip)) {
+            long rows = manager.export(table, format, out);
+            System.err.printf("Exported %,d %s to %s in %.1f s%n", rows, table.name().toLowerCase(Locale.ROOT),
+                    outFile.equals("-") ? "stdout" : outFile, (System.nanoTime() - started) / 1e9);
+            return 0;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return 1;
+        } finally {
+            manager.close();
+        }
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Unknown " + type.getSimpleName().toLowerCase(Locale.ROOT) + " " + value);
+        }
+    }
+
+    private static WritableByteChannel stdout(boolean gzip) throws IOException {
+        OutputStream stream = System.out;
+        return Channels.newChannel(gzip ? new GZIPOutputStream(stream, BUFFER_BYTES) : stream);
+    }
+}
@@ -0,0 +1,98 @@
+package hms;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+// ==================================================
+// TYPED TABLE CELLS
+// ==================================================
+// Cell value for a column that shows text but orders by a number: an age by
+// whole years, a date by epoch day, a time by minute of day, an amount by
+// cents. The text is what was stored (or Money.format), so renderers and text
+// search see no change; sorters compare the long key and SearchIndex
+// keeps the keys sorted for range filters. Cells whose text doesn't parse get
+// NO_KEY, sort first and never fall in a range.
+final class TypedCell implements Comparable<TypedCell> {
+
+    static final long NO_KEY = Long.MIN_VALUE;
+
+    // What the key counts, and how a range bound typed into the search box is read
+    enum Kind {
+        AGE, DATE, TIME, MONEY;
+
+        // The key for a bound such as "60", "1/3/2026", "09:30" or "500"; NO_KEY if it doesn't parse
+        long parse(String text) {
+            String value = text.trim();
+            switch (this) {
+                case AGE: {
+                    int years = HMSNeumorphicAppModern.Patient.toAgeYears(value);
+                    return years == HMSNeumorphicAppModern.Patient.NO_AGE ? NO_KEY : years;
+                }
+                case DATE: {
+                    int day = Validators.toEpochDay(value);
+                    return day == Validators.NO_DATE ? NO_KEY : day;
+                }
+                case TIME: {
+                    int minute = HMSNeumorphicAppModern.Appointment.toMinuteOfDay(value);
+                    return minute == HMSNeumorphicAppModern.Appointment.NO_TIME ? NO_KEY : minute;
+                }
+                default:
+                    try {
+                        return Money.parse(value.startsWith("$") ? value.substring(1) : value);
+                    } catch (RuntimeException e) {
+                        return NO_KEY;
+                    }
+            }
+        }
+    }
+
+    // A single long comparison; the sorter itself puts null cells (rows still loading) first
+    static final Comparator<TypedCell> ORDER = Comparator.comparingLong(c -> c.key);
+
+    final Kind kind;
+    final long key;
+    final String text;
+
+    private TypedCell(Kind kind, long key, String text) {
+        this.kind = kind;
+        this.key = key;
+        this.text = text;
+    }
+
+    static TypedCell age(String text, int years) {
+        return new TypedCell(Kind.AGE, years == HMSNeumorphicAppModern.Patient.NO_AGE ? NO_KEY : years, text);
+    }
+
+    static TypedCell date(String text, int epochDay) {
+        return new TypedCell(Kind.DATE, epochDay == HMSNeumorphicAppModern.Appointment.NO_DATE ? NO_KEY : epochDay, text);
+    }
+
+    static TypedCell time(String text, int minuteOfDay) {
+        return new TypedCell(Kind.TIME, minuteOfDay == HMSNeumorphicAppModern.Appointment.NO_TIME ? NO_KEY : minuteOfDay, text);
+    }
+
+    static TypedCell money(long cents) {
+        return new TypedCell(Kind.MONEY, cents, Money.format(cents));
+    }
+
+    @Override
+    public int compareTo(TypedCell other) {
+        return Long.compare(key, other.key);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TypedCell && ((TypedCell) o).kind == kind && ((TypedCell) o).key == key
+                && Objects.equals(((TypedCell) o).text, text);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(key);
+    }
+
+    @Override
+    public String toString() {
+        return text == null ? "" : text;
+    }
+}
@@ -0,0 +1,135 @@
+package hms;
+
+// ==================================================
+// INPUT VALIDATION
+// ==================================================
+// Field rules shared by the entry dialogs and CsvImport. Hand-written scanners
+// instead of String.matches / SimpleDateFormat: nothing is compiled, parsed
+// into objects or thrown per call, which matters at hundreds of thousands of
+// imported rows. Every rule matches the whole value.
+final class Validators {
+
+    static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private Validators() {}
+
+    // 02/03/04/05 followed by eight more digits
+    static boolean isValidGhanaPhone(CharSequence phone) {
+        if (phone.length() != 10 || phone.charAt(0) != '0') return false;
+        char prefix = phone.charAt(1);
+        if (prefix < '2' || prefix > '5') return false;
+        for (int i = 2; i < 10; i++) {
+            if (!isAsciiDigit(phone.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    // local@domain.tld: local and domain from [A-Za-z0-9_.-], the part after the last dot word characters only
+    static boolean isValidEmail(CharSequence email) {
+        int at = -1;
+        for (int i = 0; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                if (at >= 0) return false;
+                at = i;
+            } else if (!isWordChar(c) && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        if (at < 1) return false;
+
+        int dot = -1;
+        for (int i = email.length() - 1; i > at; i--) {
+            if (email.charAt(i) == '.') {
+                dot = i;
+                break;
+            }
+        }
+        if (dot < at + 2 || dot == email.length() - 1) return false;
+        for (int i = dot + 1; i < email.length(); i++) {
+            if (!isWordChar(email.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    // A whole number from 1 to 150, optionally signed, as Integer.parseInt reads it
+    static boolean isValidAge(CharSequence age) {
+        int n = age.length();
+        int i = 0;
+        boolean negative = false;
+        if (n > 0 && (age.charAt(0) == '+' || age.charAt(0) == '-')) {
+            negative = age.charAt(0) == '-';
+            i = 1;
+        }
+        if (i == n) return false;
+        int value = 0;
+        for (; i < n; i++) {
+            int digit = Character.digit(age.charAt(i), 10);
+            if (digit < 0) return false;
+            value = value * 10 + digit;
+            if (value > 150) return false;
+        }
+        return !negative && value > 0;
+    }
+
+    static boolean isValidDate(CharSequence date) {
+        return toEpochDay(date) != NO_DATE;
+    }
+
+    // d/M/yyyy (one or two digit day and month, four digit year) to an epoch day; NO_DATE if invalid
+    static int toEpochDay(CharSequence date) {
+        int n = date.length();
+        int i = 0;
+        int day = 0, month = 0, year = 0;
+        int start = i;
+        while (i < n && i - start < 2 && isAsciiDigit(date.charAt(i))) day = day * 10 + date.charAt(i++) - '0';
+        if (i == start || i == n || date.charAt(i++) != '/') return NO_DATE;
+        start = i;
+        while (i < n && i - start < 2 && isAsciiDigit(date.charAt(i))) month = month * 10 + date.charAt(i++) - '0';
+        if (i == start || i == n || date.charAt(i++) != '/') return NO_DATE;
+        start = i;
+        while (i < n && isAsciiDigit(date.charAt(i))) year = year * 10 + date.charAt(i++) - '0';
+        if (i != n || i - start != 4) return NO_DATE;
+
+        if (month < 1 || month > 12 || day < 1) return NO_DATE;
+        boolean leap = year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+        if (day > DAYS_IN_MONTH[month - 1] + (month == 2 && leap ? 1 : 0)) return NO_DATE;
+        return epochDay(year, month, day);
+    }
+
+    // H:mm or HH:mm, 00:00 to 23:59
+    static boolean isValidTime(CharSequence time) {
+        int n = time.length();
+        if (n != 4 && n != 5) return false;
+        int colon = n - 3;
+        if (time.charAt(colon) != ':') return false;
+        for (int i = 0; i < n; i++) {
+            if (i != colon && !isAsciiDigit(time.charAt(i))) return false;
+        }
+        int hours = n == 4 ? time.charAt(0) - '0' : (time.charAt(0) - '0') * 10 + time.charAt(1) - '0';
+        return hours < 24 && time.charAt(colon + 1) <= '5';
+    }
+
+    // Days since 1970-01-01 in the proleptic Gregorian calendar, as LocalDate.toEpochDay
+    private static int epochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += (367 * month - 362) / 12 + day - 1;
+        if (month > 2) {
+            total--;
+            if (!(year % 4 == 0 && (year % 100 != 0 || year % 400 == 0))) total--;
+        }
+        return (int) (total - 719528);
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Java regex \w without UNICODE_CHARACTER_CLASS
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isAsciiDigit(c) || c == '_';
+    }
+}
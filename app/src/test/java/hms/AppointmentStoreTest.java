@@ -0,0 +1,69 @@
+package hms;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AppointmentStoreTest {
+
+    private static HMSNeumorphicAppModern.Appointment appointment(long id, String patient, String date, String time,
+                                                                   String notes) {
+        HMSNeumorphicAppModern.Appointment a = new HMSNeumorphicAppModern.Appointment(
+                patient, "Dr. Boateng", "Checkup", date, time, notes);
+        a.id = id;
+        a.patientId = id * 10;
+        a.doctorId = 7;
+        return a;
+    }
+
+    @Test
+    void rowsRoundTrip() {
+        AppointmentStore store = new AppointmentStore(1);
+        for (int i = 1; i <= 40; i++) store.add(appointment(i, "Patient " + (i % 3), "01/03/2026", "09:30", ""));
+        store.add(appointment(41, "Kofi", "1/3/2026", "9:30", "Bring results"));
+
+        assertEquals(41, store.size());
+        HMSNeumorphicAppModern.Appointment a = store.get(5);
+        assertEquals(6, a.id);
+        assertEquals(60, a.patientId);
+        assertEquals(7, a.doctorId);
+        assertEquals("Patient 0", a.patient);
+        assertEquals("01/03/2026", a.date);
+        assertEquals("09:30", a.time);
+        assertEquals("", a.notes);
+
+        // Text that differs from the formatted epoch day / minute is kept as stored
+        assertEquals("1/3/2026", store.date(40));
+        assertEquals("9:30", store.time(40));
+        assertEquals("Bring results", store.notes(40));
+        assertEquals(store.epochDay(0), store.epochDay(40));
+    }
+
+    @Test
+    void unparseableValuesKeepTheirText() {
+        AppointmentStore store = new AppointmentStore();
+        store.add(appointment(1, null, "someday", "noon", null));
+        assertNull(store.patient(0));
+        assertEquals("someday", store.date(0));
+        assertEquals(HMSNeumorphicAppModern.Appointment.NO_DATE, store.epochDay(0));
+        assertEquals("noon", store.time(0));
+        assertEquals("", store.notes(0));
+    }
+
+    @Test
+    void snapshotIsFixedAndReadOnly() {
+        AppointmentStore store = new AppointmentStore(16);
+        for (int i = 1; i <= 16; i++) store.add(appointment(i, "P" + i, "02/03/2026", "10:00", ""));
+        AppointmentStore snapshot = store.snapshot();
+        Object[] before = snapshot.row(15);
+        for (int i = 17; i <= 40; i++) store.add(appointment(i, "P" + i, "03/03/2026", "11:00", ""));
+
+        assertEquals(16, snapshot.size());
+        assertArrayEquals(before, snapshot.row(15));
+        assertEquals("P40", store.patient(39));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(appointment(99, "X", "", "", "")));
+    }
+}
@@ -0,0 +1,74 @@
+package hms;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private AsyncRepository repo;
+
+    @BeforeEach
+    void open() {
+        repo = new AsyncRepository(new DatabaseManager(dir.resolve("hospital_data.db").toString()));
+    }
+
+    @AfterEach
+    void close() {
+        repo.close();
+    }
+
+    private static HMSNeumorphicAppModern.Appointment appointment(HMSNeumorphicAppModern.Doctor doctor, String time) {
+        HMSNeumorphicAppModern.Appointment a = new HMSNeumorphicAppModern.Appointment(
+                "Ama Owusu", doctor.name, "Checkup", "02/03/2026", time, "");
+        a.doctorId = doctor.id;
+        return a;
+    }
+
+    @Test
+    void failedSaveFailsTheFutureAndLeavesNoId() {
+        HMSNeumorphicAppModern.Service added = new HMSNeumorphicAppModern.Service("Dental Cleaning", 9000);
+        repo.saveService(added).join();
+        assertTrue(added.id > 0);
+
+        // Already in the default tariff; the name is UNIQUE
+        HMSNeumorphicAppModern.Service duplicate = new HMSNeumorphicAppModern.Service("Blood Test", 100);
+        CompletableFuture<Void> saved = repo.saveService(duplicate);
+        CompletionException e = assertThrows(CompletionException.class, saved::join);
+        assertInstanceOf(SQLException.class, e.getCause());
+        assertEquals(0, duplicate.id);
+    }
+
+    @Test
+    void saveAppointmentIfFreeRefusesATakenSlot() {
+        HMSNeumorphicAppModern.Doctor doctor = new HMSNeumorphicAppModern.Doctor("Dr. Boateng", "Cardiology", "0241234567");
+        repo.saveDoctor(doctor).join();
+
+        HMSNeumorphicAppModern.Appointment first = appointment(doctor, "09:00");
+        assertTrue(repo.saveAppointmentIfFree(first).join());
+        assertTrue(first.id > 0);
+
+        // 09:10 falls in the same 15-minute slot
+        HMSNeumorphicAppModern.Appointment second = appointment(doctor, "09:10");
+        assertFalse(repo.saveAppointmentIfFree(second).join());
+        assertEquals(0, second.id);
+
+        assertTrue(repo.saveAppointmentIfFree(appointment(doctor, "09:15")).join());
+        assertEquals(2, repo.countAppointments().join());
+    }
+}
@@ -0,0 +1,77 @@
+package hms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvailabilityEngineTest {
+
+    private static final int DAY = Validators.toEpochDay("2/3/2026");
+
+    private static HMSNeumorphicAppModern.Appointment at(long doctorId, String time) {
+        HMSNeumorphicAppModern.Appointment a = new HMSNeumorphicAppModern.Appointment(
+                "Ama Owusu", "Dr. Boateng", "Checkup", "2/3/2026", time, "");
+        a.doctorId = doctorId;
+        return a;
+    }
+
+    private static HMSNeumorphicAppModern.Doctor doctor(long id, String specialty) {
+        HMSNeumorphicAppModern.Doctor d = new HMSNeumorphicAppModern.Doctor("Dr. " + id, specialty, "0241234567");
+        d.id = id;
+        return d;
+    }
+
+    @Test
+    void slotIsHeldUntilReleased() {
+        AvailabilityEngine engine = new AvailabilityEngine();
+        engine.reset(new AppointmentStore());
+        assertTrue(engine.book(at(1, "09:00")));
+        // Same 15-minute slot, same doctor
+        assertFalse(engine.book(at(1, "09:10")));
+        assertTrue(engine.book(at(2, "09:00")));
+        assertTrue(engine.book(at(1, "09:15")));
+
+        engine.release(at(1, "09:00"));
+        assertTrue(engine.book(at(1, "09:05")));
+    }
+
+    @Test
+    void unscheduledAppointmentsHoldNoSlot() {
+        AvailabilityEngine engine = new AvailabilityEngine();
+        HMSNeumorphicAppModern.Appointment noDoctor = at(0, "09:00");
+        assertTrue(engine.book(noDoctor));
+        assertTrue(engine.book(noDoctor));
+        assertTrue(engine.book(at(1, "not a time")));
+        assertTrue(engine.book(at(1, "not a time")));
+    }
+
+    @Test
+    void resetBooksStoredAppointments() {
+        AvailabilityEngine engine = new AvailabilityEngine();
+        assertFalse(engine.isReady());
+        engine.reset(AppointmentStore.of(Collections.singletonList(at(1, "10:00"))));
+        assertTrue(engine.isReady());
+        assertFalse(engine.book(at(1, "10:00")));
+    }
+
+    @Test
+    void nextFreeSlotSkipsBookedOnesWithinClinicHours() {
+        AvailabilityEngine engine = new AvailabilityEngine();
+        engine.reset(new AppointmentStore());
+        engine.book(at(1, "08:00"));
+        engine.book(at(1, "08:15"));
+        AvailabilityEngine.Slot slot = engine.nextFreeSlot(
+                Arrays.asList(doctor(1, "Cardiology"), doctor(2, "Neurology")), "cardiology", DAY, 0);
+        assertEquals(1, slot.doctor.id);
+        assertEquals(DAY, slot.epochDay);
+        assertEquals(8 * 60 + 30, slot.minuteOfDay);
+
+        assertNull(engine.nextFreeSlot(Arrays.asList(doctor(1, "Cardiology")), "Dermatology", DAY, 0));
+    }
+}
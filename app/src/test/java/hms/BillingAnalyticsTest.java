@@ -0,0 +1,92 @@
+package hms;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BillingAnalyticsTest {
+
+    private static HMSNeumorphicAppModern.Bill bill(long cents, int epochDay, long doctorId) {
+        HMSNeumorphicAppModern.Bill b = new HMSNeumorphicAppModern.Bill("Ama Owusu", Collections.emptyList(), cents);
+        b.epochDay = epochDay;
+        b.doctorId = doctorId;
+        return b;
+    }
+
+    // The same totals summed one bill at a time
+    private static void assertMatchesSequentialSum(List<HMSNeumorphicAppModern.Bill> bills) {
+        long total = 0, undated = 0;
+        TreeMap<Integer, Long> days = new TreeMap<>();
+        Map<YearMonth, Long> months = new HashMap<>();
+        Map<Long, Long> doctors = new HashMap<>();
+        for (HMSNeumorphicAppModern.Bill b : bills) {
+            total += b.totalCents;
+            if (b.epochDay == HMSNeumorphicAppModern.Bill.NO_DATE) {
+                undated += b.totalCents;
+            } else {
+                days.merge(b.epochDay, b.totalCents, Long::sum);
+                months.merge(YearMonth.from(LocalDate.ofEpochDay(b.epochDay)), b.totalCents, Long::sum);
+            }
+            if (b.doctorId > 0) doctors.merge(b.doctorId, b.totalCents, Long::sum);
+        }
+        months.values().removeIf(cents -> cents == 0);
+
+        BillingAnalytics.RevenueReport report = BillingAnalytics.aggregate(bills);
+        assertEquals(bills.size(), report.billCount);
+        assertEquals(total, report.totalCents);
+        assertEquals(undated, report.undatedCents);
+        if (days.isEmpty()) {
+            assertEquals(0, report.dailyCents.length);
+        } else {
+            long[] daily = new long[days.lastKey() - days.firstKey() + 1];
+            days.forEach((day, cents) -> daily[day - days.firstKey()] += cents);
+            assertEquals(days.firstKey(), report.firstDay);
+            assertArrayEquals(daily, report.dailyCents);
+        }
+        assertEquals(months, new HashMap<>(report.monthlyCents));
+        assertEquals(doctors, new HashMap<>(report.doctorCents));
+    }
+
+    @Test
+    void forkJoinSumsMatchASequentialPass() {
+        Random random = new Random(7);
+        int start = (int) LocalDate.of(2024, 1, 1).toEpochDay();
+        List<HMSNeumorphicAppModern.Bill> bills = new ArrayList<>();
+        // Enough rows for several levels of splitting
+        for (int i = 0; i < 85_000; i++) {
+            int day = random.nextInt(20) == 0 ? HMSNeumorphicAppModern.Bill.NO_DATE : start + random.nextInt(730);
+            bills.add(bill(random.nextInt(500_000), day, random.nextInt(12)));
+        }
+        assertMatchesSequentialSum(bills);
+    }
+
+    // Leaves with disjoint date ranges, and leaves with no dated bills at all, are merged
+    @Test
+    void mergesDisjointAndEmptyDateRanges() {
+        int start = (int) LocalDate.of(2025, 6, 1).toEpochDay();
+        List<HMSNeumorphicAppModern.Bill> bills = new ArrayList<>();
+        for (int i = 0; i < 30_000; i++) bills.add(bill(100, HMSNeumorphicAppModern.Bill.NO_DATE, 1));
+        for (int i = 0; i < 30_000; i++) bills.add(bill(250, start + 400 + i % 3, 2));
+        for (int i = 0; i < 30_000; i++) bills.add(bill(1, start + i % 5, 0));
+        assertMatchesSequentialSum(bills);
+    }
+
+    @Test
+    void emptyAndUndatedLists() {
+        assertMatchesSequentialSum(new ArrayList<>());
+        List<HMSNeumorphicAppModern.Bill> undated = new ArrayList<>();
+        undated.add(bill(15000, HMSNeumorphicAppModern.Bill.NO_DATE, 3));
+        assertMatchesSequentialSum(undated);
+    }
+}
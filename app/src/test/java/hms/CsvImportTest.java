@@ -0,0 +1,117 @@
+package hms;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class CsvImportTest {
+
+    @TempDir
+    Path dir;
+
+    private DatabaseManager db;
+
+    @BeforeEach
+    void open() {
+        db = new DatabaseManager(dir.resolve("hospital_data.db").toString());
+    }
+
+    @AfterEach
+    void close() {
+        db.close();
+    }
+
+    @Test
+    void quotedFieldsMaySpanLines() throws IOException {
+        String csv = "﻿name,age,address\r\n"
+                + "\"Mensah, \"\"Kofi\"\"\",45,\"12 Ring Rd\r\nAccra\"\r\n"
+                + "Ama Owusu,30,Tema";
+        CsvImport.Result result = CsvImport.importCsv(db, TableExport.Table.PATIENTS,
+                new StringReader(csv), new StringWriter());
+
+        assertEquals(2, result.read);
+        assertEquals(2, result.imported);
+        List<HMSNeumorphicAppModern.Patient> patients = db.loadPatients();
+        assertEquals("Mensah, \"Kofi\"", patients.get(0).name);
+        assertEquals("12 Ring Rd\r\nAccra", patients.get(0).address);
+        assertEquals("Tema", patients.get(1).address);
+    }
+
+    @Test
+    void rejectsListOneLinePerFailingField() throws IOException {
+        String csv = "name,age,phone,email\n"
+                + "\"Kofi\nMensah\",45,0241234567,kofi@example.com\n"
+                + "Ama,abc,0999,ama@example.com\n"
+                + ",60,,not-an-email\n";
+        StringWriter rejects = new StringWriter();
+        CsvImport.Result result = CsvImport.importCsv(db, TableExport.Table.PATIENTS, new StringReader(csv), rejects);
+
+        assertEquals(3, result.read);
+        assertEquals(1, result.imported);
+        assertEquals(2, result.rejected);
+        // Line numbers count the line break inside the first record
+        assertEquals("line,field,value,reason\n"
+                + "4,age,\"abc\",not a whole number from 1 to 150\n"
+                + "4,phone,\"0999\",not a Ghana phone number (0[2-5] + 8 digits)\n"
+                + "5,name,\"\",required\n"
+                + "5,email,\"not-an-email\",not an email address\n", rejects.toString());
+    }
+
+    @Test
+    void rowsPastAChunkBoundaryAreAllSaved() throws IOException {
+        StringBuilder csv = new StringBuilder("name,age\n");
+        for (int i = 0; i <= CsvImport.CHUNK_SIZE; i++) csv.append("Patient ").append(i).append(",40\n");
+
+        List<Integer> saved = new ArrayList<>();
+        CsvImport.Result result = CsvImport.importCsv(db, TableExport.Table.PATIENTS, new StringReader(csv.toString()),
+                new StringWriter(), (chunkRows, rows, total, chunkNanos) -> saved.add(rows));
+
+        assertEquals(CsvImport.CHUNK_SIZE + 1, result.imported);
+        assertEquals(List.of(CsvImport.CHUNK_SIZE, CsvImport.CHUNK_SIZE + 1), saved);
+        assertEquals(CsvImport.CHUNK_SIZE + 1, db.countPatients());
+    }
+
+    @Test
+    void missingRequiredColumnFailsBeforeAnyWrite() {
+        assertThrows(IOException.class, () -> CsvImport.importCsv(db, TableExport.Table.PATIENTS,
+                new StringReader("name,phone\nKofi,0241234567\n"), new StringWriter()));
+        assertEquals(0, db.countPatients());
+    }
+
+    // An unchecked failure on the validator thread still ends the queue and reaches the caller
+    @Test
+    void validatorFailureIsRethrownInsteadOfHanging() {
+        Reader failing = new Reader() {
+            private final Reader header = new StringReader("name,age\nKofi,45\n");
+
+            @Override
+            public int read(char[] buf, int off, int len) throws IOException {
+                int n = header.read(buf, off, len);
+                if (n < 0) throw new IllegalStateException("disk went away");
+                return n;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        IllegalStateException e = assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThrows(
+                IllegalStateException.class,
+                () -> CsvImport.importCsv(db, TableExport.Table.PATIENTS, failing, new StringWriter())));
+        assertEquals("disk went away", e.getMessage());
+    }
+}
@@ -0,0 +1,100 @@
+package hms;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.awt.HeadlessException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DatabaseManagerTest {
+
+    @TempDir
+    Path dir;
+
+    private DatabaseManager db;
+
+    @AfterEach
+    void close() {
+        if (db != null) db.close();
+    }
+
+    private String file() {
+        return dir.resolve("hospital_data.db").toString();
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Connection c = DriverManager.getConnection("jdbc:sqlite:" + file());
+             Statement stmt = c.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    @Test
+    void newFileGetsEveryMigrationAndTheDefaultTariff() throws SQLException {
+        db = new DatabaseManager(file());
+        assertEquals(8, queryLong("PRAGMA user_version"));
+        assertEquals(7, db.loadServices().size());
+        db.close();
+
+        // Reopening applies nothing twice
+        db = new DatabaseManager(file());
+        assertEquals(8, queryLong("PRAGMA user_version"));
+        assertEquals(7, db.loadServices().size());
+    }
+
+    @Test
+    void failedMigrationIsRolledBack() throws SQLException {
+        try (Connection c = DriverManager.getConnection("jdbc:sqlite:" + file());
+             Statement stmt = c.createStatement()) {
+            stmt.execute("CREATE TABLE bills (id INTEGER PRIMARY KEY, patient_name TEXT, services TEXT, total REAL)");
+            stmt.execute("CREATE TABLE services (id INTEGER PRIMARY KEY, name TEXT NOT NULL UNIQUE, price REAL)");
+            stmt.execute("CREATE TABLE bill_items (bill_id INTEGER NOT NULL, service_id INTEGER NOT NULL, price REAL, "
+                    + "quantity INTEGER NOT NULL DEFAULT 1, PRIMARY KEY (bill_id, service_id)) WITHOUT ROWID");
+            // The second price doesn't parse, after X-Ray has already been inserted
+            stmt.execute("INSERT INTO bills (patient_name, services, total) VALUES ('Ama', 'X-Ray:$200.0,Scan:$abc', 0)");
+            stmt.execute("PRAGMA user_version = 3");
+        }
+
+        // The failure is reported in a dialog, which can't open in a headless run
+        assertThrows(HeadlessException.class, () -> new DatabaseManager(file()));
+        assertEquals(3, queryLong("PRAGMA user_version"));
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM services"));
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM bill_items"));
+    }
+
+    @Test
+    void bulkSaveReportsEachCommittedChunk() {
+        db = new DatabaseManager(file());
+        db.setBatchSize(4);
+        List<HMSNeumorphicAppModern.Doctor> doctors = new ArrayList<>();
+        for (int i = 0; i < 10; i++) doctors.add(new HMSNeumorphicAppModern.Doctor("Dr. " + i, "Cardiology", "0241234567"));
+
+        List<int[]> chunks = new ArrayList<>();
+        assertEquals(10, db.saveDoctors(doctors, (chunkRows, saved, total, chunkNanos) -> {
+            assertTrue(chunkNanos > 0);
+            chunks.add(new int[]{chunkRows, saved, total});
+        }));
+        assertEquals(3, chunks.size());
+        assertArrayEquals(new int[]{4, 4, 10}, chunks.get(0));
+        assertArrayEquals(new int[]{4, 8, 10}, chunks.get(1));
+        assertArrayEquals(new int[]{2, 10, 10}, chunks.get(2));
+
+        // Ids come back in insertion order
+        for (int i = 0; i < 10; i++) assertEquals(i + 1, doctors.get(i).id);
+    }
+}
@@ -0,0 +1,109 @@
+package hms;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpApiTest {
+
+    @TempDir
+    Path dir;
+
+    private DatabaseManager db;
+    private HttpApi api;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void start() throws IOException {
+        db = new DatabaseManager(dir.resolve("hospital_data.db").toString());
+        api = new HttpApi(db, new InetSocketAddress("127.0.0.1", 0));
+        api.start();
+    }
+
+    @AfterEach
+    void stop() {
+        api.stop();
+        db.close();
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + api.port() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private long savedDoctor() throws SQLException {
+        HMSNeumorphicAppModern.Doctor d = new HMSNeumorphicAppModern.Doctor("Dr. Boateng", "Cardiology", "0241234567");
+        db.saveDoctor(d);
+        return d.id;
+    }
+
+    @Test
+    void createAndReadPatient() throws Exception {
+        HttpResponse<String> created = send("POST", "/api/patients", "{\"name\": \"Kofi Mensah\", \"age\": \"45\"}");
+        assertEquals(201, created.statusCode());
+        String id = Json.parseObject(created.body()).get("id");
+
+        HttpResponse<String> read = send("GET", "/api/patients/" + id, null);
+        assertEquals(200, read.statusCode());
+        assertEquals("Kofi Mensah", Json.parseObject(read.body()).get("name"));
+        assertEquals(200, send("GET", "/api/patients?after=0", null).statusCode());
+    }
+
+    @Test
+    void badRequests() throws Exception {
+        HttpResponse<String> invalid = send("POST", "/api/patients", "{\"name\": \"\", \"age\": \"200\"}");
+        assertEquals(400, invalid.statusCode());
+        Map<String, String> error = Json.parseObject(invalid.body());
+        assertEquals("name: required; age: not a whole number from 1 to 150", error.get("error"));
+
+        assertEquals(400, send("POST", "/api/patients", "{\"name\": ").statusCode());
+        assertEquals(400, send("GET", "/api/patients?after=abc", null).statusCode());
+        assertEquals(413, send("POST", "/api/patients", "x".repeat(64 * 1024 + 1)).statusCode());
+        assertEquals(405, send("PUT", "/api/patients", "{}").statusCode());
+        assertEquals(405, send("POST", "/api/bills", "{}").statusCode());
+    }
+
+    @Test
+    void unknownIdsAndPaths() throws Exception {
+        assertEquals(404, send("GET", "/api/patients/999", null).statusCode());
+        assertEquals(404, send("GET", "/api/doctors/999", null).statusCode());
+        assertEquals(404, send("GET", "/api/patients/abc", null).statusCode());
+        assertEquals(404, send("GET", "/api/patients/1/bills", null).statusCode());
+        assertEquals(404, send("GET", "/api/bills/1", null).statusCode());
+    }
+
+    @Test
+    void doubleBookingIsAConflict() throws Exception {
+        long doctorId = savedDoctor();
+        HMSNeumorphicAppModern.Patient p = new HMSNeumorphicAppModern.Patient("Ama Owusu", "30", "", "", "", "", "", "", "", "");
+        db.savePatient(p);
+        String booking = "{\"patient_id\": \"" + p.id + "\", \"doctor_id\": \"" + doctorId
+                + "\", \"date\": \"02/03/2026\", \"time\": \"%s\"}";
+
+        assertEquals(201, send("POST", "/api/appointments", String.format(booking, "09:00")).statusCode());
+        HttpResponse<String> taken = send("POST", "/api/appointments", String.format(booking, "09:10"));
+        assertEquals(409, taken.statusCode());
+        assertTrue(Json.parseObject(taken.body()).get("error").startsWith("Dr. Boateng is already booked"));
+        assertEquals(201, send("POST", "/api/appointments", String.format(booking, "09:15")).statusCode());
+
+        // A reference to a missing row is the client's mistake, not a server error
+        assertEquals(400, send("POST", "/api/appointments",
+                booking.replace("\"" + p.id + "\"", "\"999\"").replace("%s", "10:00")).statusCode());
+    }
+}
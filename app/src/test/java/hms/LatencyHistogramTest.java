@@ -0,0 +1,48 @@
+package hms;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.percentileNanos(0.99));
+        assertEquals(0, h.getMeanMicros());
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) h.record(i);
+        assertEquals(5, h.percentileNanos(0.50));
+        assertEquals(10, h.percentileNanos(1.0));
+    }
+
+    // Buckets are 1/32 of a power of two wide, so a value is reported within about 3%
+    @Test
+    void percentilesWithinBucketError() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) h.record(i * 1000);
+        assertEquals(1000, h.getCount());
+        assertEquals(500_500, h.getMeanMicros() * 1000, 1e-6);
+        assertEquals(500_000, h.percentileNanos(0.50), 500_000 * 0.03);
+        assertEquals(990_000, h.percentileNanos(0.99), 990_000 * 0.03);
+        assertEquals(1000, h.getMaxMicros());
+    }
+
+    @Test
+    void percentileIsCappedAtMaxAndResetClears() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(1_000_000);
+        assertEquals(1_000_000, h.percentileNanos(0.5));
+        h.record(-5);
+        assertEquals(0, h.percentileNanos(0.5));
+        h.reset();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getMaxMicros());
+    }
+}
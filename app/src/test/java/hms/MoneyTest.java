@@ -0,0 +1,29 @@
+package hms;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    @Test
+    void parsesWholeAndDecimalAmounts() {
+        assertEquals(15000, Money.parse("150"));
+        assertEquals(7550, Money.parse(" 75.5 "));
+        assertEquals(1, Money.parse("0.01"));
+    }
+
+    @Test
+    void rejectsMoreThanTwoDecimalsAndText() {
+        assertThrows(ArithmeticException.class, () -> Money.parse("1.005"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("ten"));
+    }
+
+    @Test
+    void formatsCents() {
+        assertEquals("$150.00", Money.format(15000));
+        assertEquals("$0.05", Money.format(5));
+        assertEquals("-$12.30", Money.format(-1230));
+    }
+}
@@ -0,0 +1,99 @@
+package hms;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SearchIndexTest {
+
+    private static Object[] row(String name, int age, String phone) {
+        return new Object[]{name, TypedCell.age(String.valueOf(age), age), phone};
+    }
+
+    private static SearchIndex index(List<Object[]> rows) throws Exception {
+        SearchIndex index = new SearchIndex(new String[]{"Name", "Age", "Phone"});
+        rebuild(index, rows).join();
+        return index;
+    }
+
+    // Rebuilds start, and searches run, on the EDT
+    private static CompletableFuture<Void> rebuild(SearchIndex index, List<Object[]> rows) throws Exception {
+        AtomicReference<CompletableFuture<Void>> built = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> built.set(index.rebuild(rows, r -> r)));
+        return built.get();
+    }
+
+    private static BitSet search(SearchIndex index, String query) throws Exception {
+        AtomicReference<BitSet> result = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> result.set(index.search(query)));
+        return result.get();
+    }
+
+    private static BitSet rows(int... rows) {
+        BitSet set = new BitSet();
+        for (int row : rows) set.set(row);
+        return set;
+    }
+
+    private final List<Object[]> rows = new ArrayList<>(Arrays.asList(
+            row("Kofi Mensah", 45, "0241234567"),
+            row("Ama Owusu", 62, "0509876543"),
+            row("Kojo Mensah", 80, "0241112222"),
+            row("Esi Boateng", 30, "0204445555")));
+
+    @Test
+    void prefixTermsMustAllMatch() throws Exception {
+        SearchIndex index = index(rows);
+        assertEquals(rows(0, 2), search(index, "mensah"));
+        assertEquals(rows(0, 2), search(index, "ko men"));
+        assertEquals(rows(0, 2), search(index, "phone:024"));
+        assertEquals(rows(), search(index, "name:024"));
+        assertNull(search(index, "   "));
+    }
+
+    @Test
+    void rangesOnTypedColumns() throws Exception {
+        SearchIndex index = index(rows);
+        assertEquals(rows(1, 2), search(index, "age 60-80"));
+        assertEquals(rows(1, 2), search(index, "age >= 62"));
+        assertEquals(rows(3), search(index, "age<45"));
+        assertEquals(rows(0), search(index, "age=45 kofi"));
+    }
+
+    @Test
+    void rowsAddedAfterRebuildAreFound() throws Exception {
+        SearchIndex index = index(rows);
+        rows.add(row("Yaw Mensah", 70, "0550000000"));
+        SwingUtilities.invokeAndWait(() -> index.add(4, rows.get(4)));
+        assertEquals(rows(0, 2, 4), search(index, "mensah"));
+        assertEquals(rows(2, 4), search(index, "mensah age 65-90"));
+    }
+
+    @Test
+    void onlyTheLatestRebuildIsInstalled() throws Exception {
+        SearchIndex index = new SearchIndex(new String[]{"Name", "Age", "Phone"});
+        List<Object[]> stale = Collections.singletonList(row("Stale Row", 1, "0200000000"));
+        List<Object[]> current = Collections.singletonList(row("Current Row", 2, "0200000001"));
+        // Both start in one EDT task, so the first can't be installed before the second starts
+        AtomicReference<CompletableFuture<Void>> first = new AtomicReference<>();
+        AtomicReference<CompletableFuture<Void>> second = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            first.set(index.rebuild(stale, r -> r));
+            second.set(index.rebuild(current, r -> r));
+        });
+        first.get().join();
+        second.get().join();
+        assertEquals(rows(), search(index, "stale"));
+        assertEquals(rows(0), search(index, "current"));
+    }
+}
@@ -0,0 +1,65 @@
+package hms;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TableExportTest {
+
+    @TempDir
+    Path dir;
+
+    private DatabaseManager db;
+
+    @BeforeEach
+    void open() throws SQLException {
+        db = new DatabaseManager(dir.resolve("hospital_data.db").toString());
+        db.savePatient(new HMSNeumorphicAppModern.Patient("Mensah, \"Kofi\"", "45", "Male", "O+", "0241234567",
+                "kofi@example.com", "12 Ring Rd\nAccra", "Ama é", "Asthma\tmild", null));
+    }
+
+    @AfterEach
+    void close() {
+        db.close();
+    }
+
+    private String export(TableExport.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(1, db.export(TableExport.Table.PATIENTS, format, Channels.newChannel(out)));
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void csvQuotesFieldsWithCommasQuotesAndNewlines() throws IOException {
+        assertEquals("id,name,age,gender,blood_type,phone,email,address,emergency_contact,medical_history,allergies\r\n"
+                        + "1,\"Mensah, \"\"Kofi\"\"\",45,Male,O+,0241234567,kofi@example.com,\"12 Ring Rd\nAccra\","
+                        + "Ama é,Asthma\tmild,\r\n",
+                export(TableExport.Format.CSV));
+    }
+
+    @Test
+    void ndjsonEscapesStringsAndWritesNulls() throws IOException {
+        assertEquals("{\"id\":1,\"name\":\"Mensah, \\\"Kofi\\\"\",\"age\":\"45\",\"gender\":\"Male\","
+                        + "\"blood_type\":\"O+\",\"phone\":\"0241234567\",\"email\":\"kofi@example.com\","
+                        + "\"address\":\"12 Ring Rd\\nAccra\",\"emergency_contact\":\"Ama é\","
+                        + "\"medical_history\":\"Asthma\\tmild\",\"allergies\":null}\n",
+                export(TableExport.Format.NDJSON));
+    }
+
+    @Test
+    void jsonStringEscapesControlCharacters() {
+        StringBuilder sb = new StringBuilder();
+        Json.string(sb, "a\\b\r\u0001");
+        assertEquals("\"a\\\\b\\r\\u0001\"", sb.toString());
+    }
+}
@@ -0,0 +1,65 @@
+package hms;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidatorsTest {
+
+    @Test
+    void phoneNeedsGhanaPrefixAndTenDigits() {
+        assertTrue(Validators.isValidGhanaPhone("0241234567"));
+        assertFalse(Validators.isValidGhanaPhone("0641234567"));
+        assertFalse(Validators.isValidGhanaPhone("024123456"));
+        assertFalse(Validators.isValidGhanaPhone("02412345a7"));
+    }
+
+    @Test
+    void email() {
+        assertTrue(Validators.isValidEmail("kofi.mensah@example.com"));
+        assertFalse(Validators.isValidEmail("@example.com"));
+        assertFalse(Validators.isValidEmail("kofi@@example.com"));
+        assertFalse(Validators.isValidEmail("kofi@example."));
+        assertFalse(Validators.isValidEmail("kofi@.com"));
+    }
+
+    @Test
+    void ageFromOneTo150() {
+        assertTrue(Validators.isValidAge("1"));
+        assertTrue(Validators.isValidAge("+150"));
+        assertFalse(Validators.isValidAge("0"));
+        assertFalse(Validators.isValidAge("151"));
+        assertFalse(Validators.isValidAge("-5"));
+        assertFalse(Validators.isValidAge(""));
+    }
+
+    @Test
+    void epochDayMatchesLocalDate() {
+        assertEquals(LocalDate.of(2026, 3, 1).toEpochDay(), Validators.toEpochDay("1/3/2026"));
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), Validators.toEpochDay("29/02/2024"));
+        assertEquals(LocalDate.of(1969, 12, 31).toEpochDay(), Validators.toEpochDay("31/12/1969"));
+    }
+
+    @Test
+    void invalidDates() {
+        assertEquals(Validators.NO_DATE, Validators.toEpochDay("29/02/2023"));
+        assertEquals(Validators.NO_DATE, Validators.toEpochDay("31/04/2026"));
+        assertEquals(Validators.NO_DATE, Validators.toEpochDay("1/13/2026"));
+        assertEquals(Validators.NO_DATE, Validators.toEpochDay("1/3/26"));
+        assertEquals(Validators.NO_DATE, Validators.toEpochDay("2026-03-01"));
+        assertFalse(Validators.isValidDate(""));
+    }
+
+    @Test
+    void time() {
+        assertTrue(Validators.isValidTime("9:30"));
+        assertTrue(Validators.isValidTime("23:59"));
+        assertFalse(Validators.isValidTime("24:00"));
+        assertFalse(Validators.isValidTime("12:60"));
+        assertFalse(Validators.isValidTime("1230"));
+    }
+}
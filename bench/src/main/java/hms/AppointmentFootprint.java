@@ -0,0 +1,95 @@
+package hms;
+
+import java.nio.file.Path;
+import java.util.List;
+
+// ==================================================
+// APPOINTMENT HEAP FOOTPRINT
+// ==================================================
+// Retained heap of the full appointment table as the List<Appointment> that
+// loadAppointments returns against the AppointmentStore the app now keeps.
+// Both are loaded from the same database, so every string is a fresh copy
+// from the driver, as in the app.
+//
+//   java -cp bench/target/benchmarks.jar hms.AppointmentFootprint --appointments 300000
+//   java -cp bench/target/benchmarks.jar hms.AppointmentFootprint --db hospital_data.db
+//
+// Without --db it seeds a temporary database with --appointments rows.
+final class AppointmentFootprint {
+
+    public static void main(String[] args) throws Exception {
+        String path = null;
+        int count = 300_000;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--db": path = value; break;
+                    case "--appointments": count = Integer.parseInt(value); break;
+                    default: throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+                i++;
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: AppointmentFootprint [--db FILE | --appointments N]");
+            System.exit(2);
+            return;
+        }
+
+        Path file = null;
+        DatabaseManager db = null;
+        try {
+            if (path == null) {
+                file = BenchData.tempDatabase();
+                db = new DatabaseManager(file.toString());
+                List<HMSNeumorphicAppModern.Patient> patients = BenchData.patients(Math.max(1, count / 3), 1);
+                db.savePatients(patients);
+                List<HMSNeumorphicAppModern.Doctor> doctors = BenchData.doctors(50, 2);
+                db.saveDoctors(doctors);
+                db.saveAppointments(BenchData.appointments(count, patients, doctors, 3));
+            } else {
+                db = new DatabaseManager(path);
+            }
+
+            long before = usedHeap();
+            List<HMSNeumorphicAppModern.Appointment> list = db.loadAppointments();
+            long listBytes = usedHeap() - before;
+            int rows = list.size();
+            list = null;
+
+            before = usedHeap();
+            AppointmentStore store = db.loadAppointmentStore();
+            long storeBytes = usedHeap() - before;
+            if (store.size() != rows) throw new IllegalStateException("Loaded " + rows + " vs " + store.size() + " rows");
+
+            System.out.printf("%,d appointments%n", rows);
+            System.out.printf("%-24s %12s %12s%n", "", "heap MB", "bytes/row");
+            print("List<Appointment>", listBytes, rows);
+            print("AppointmentStore", storeBytes, rows);
+            System.out.printf("%-24s %11.1fx%n", "reduction", listBytes / (double) Math.max(1, storeBytes));
+        } finally {
+            if (file != null) {
+                BenchData.deleteDatabase(db, file);
+            } else if (db != null) {
+                db.close();
+            }
+        }
+    }
+
+    private static void print(String label, long bytes, int rows) {
+        System.out.printf("%-24s %12.1f %12.1f%n", label, bytes / 1048576.0, bytes / (double) Math.max(1, rows));
+    }
+
+    // Heap in use once garbage from earlier steps has been collected
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(50);
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
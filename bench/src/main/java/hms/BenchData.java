@@ -0,0 +1,92 @@
+package hms;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// ==================================================
+// BENCHMARK DATA
+// ==================================================
+// Seeded rows from DatasetGenerator and throwaway SQLite files for the benchmarks.
+// Runs at the same row count always see the same data.
+final class BenchData {
+
+    private BenchData() {
+    }
+
+    // A path for a database that doesn't exist yet; SQLite creates it on open
+    static Path tempDatabase() throws IOException {
+        Path file = Files.createTempFile("hms-bench", ".db");
+        Files.delete(file);
+        return file;
+    }
+
+    static void deleteDatabase(DatabaseManager db, Path file) throws IOException {
+        if (db != null) db.close();
+        for (String suffix : Arrays.asList("", "-wal", "-shm", "-journal")) {
+            Files.deleteIfExists(Paths.get(file + suffix));
+        }
+    }
+
+    static List<HMSNeumorphicAppModern.Patient> patients(int count, long seed) {
+        DatasetGenerator generator = generator(seed);
+        List<HMSNeumorphicAppModern.Patient> patients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            patients.add(generator.patient(i));
+        }
+        return patients;
+    }
+
+    static List<HMSNeumorphicAppModern.Doctor> doctors(int count, long seed) {
+        DatasetGenerator generator = generator(seed);
+        List<HMSNeumorphicAppModern.Doctor> doctors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            doctors.add(generator.doctor(i));
+        }
+        return doctors;
+    }
+
+    // Appointments spread over the year starting today
+    static List<HMSNeumorphicAppModern.Appointment> appointments(int count, List<HMSNeumorphicAppModern.Patient> patients,
+                                                              List<HMSNeumorphicAppModern.Doctor> doctors, long seed) {
+        DatasetGenerator generator = generator(seed);
+        Random random = new Random(seed);
+        List<HMSNeumorphicAppModern.Appointment> appointments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HMSNeumorphicAppModern.Patient p = patients.get(random.nextInt(patients.size()));
+            appointments.add(generator.appointment(p.id, p.name, doctors.get(random.nextInt(doctors.size()))));
+        }
+        return appointments;
+    }
+
+    static List<HMSNeumorphicAppModern.Service> services() {
+        return new ArrayList<>(Arrays.asList(
+                new HMSNeumorphicAppModern.Service("General Consultation", 150_00),
+                new HMSNeumorphicAppModern.Service("Blood Test", 75_00),
+                new HMSNeumorphicAppModern.Service("X-Ray", 200_00),
+                new HMSNeumorphicAppModern.Service("ECG", 100_00),
+                new HMSNeumorphicAppModern.Service("Ultrasound", 250_00)));
+    }
+
+    static List<HMSNeumorphicAppModern.Bill> bills(int count, List<HMSNeumorphicAppModern.Patient> patients,
+                                                   List<HMSNeumorphicAppModern.Service> services, long seed) {
+        DatasetGenerator generator = generator(seed);
+        Random random = new Random(seed);
+        List<HMSNeumorphicAppModern.Bill> bills = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            HMSNeumorphicAppModern.Patient p = patients.get(random.nextInt(patients.size()));
+            bills.add(generator.bill(p.id, p.name, null, services));
+        }
+        return bills;
+    }
+
+    private static DatasetGenerator generator(long seed) {
+        return new DatasetGenerator(seed, (int) LocalDate.now().toEpochDay(), 365);
+    }
+}
@@ -0,0 +1,78 @@
+package hms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Full-table and paged reads against a database of `rows` patients and bills
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class DatabaseLoadBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rows;
+
+    private Path file;
+    private DatabaseManager db;
+    private long middleId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        file = BenchData.tempDatabase();
+        db = new DatabaseManager(file.toString());
+        List<HMSNeumorphicAppModern.Patient> patients = BenchData.patients(rows, 1);
+        db.savePatients(patients);
+        db.saveBills(BenchData.bills(rows, patients, BenchData.services(), 2));
+        middleId = patients.get(rows / 2).id;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchData.deleteDatabase(db, file);
+    }
+
+    @Benchmark
+    public List<HMSNeumorphicAppModern.Patient> loadPatients() {
+        return db.loadPatients();
+    }
+
+    // The summary projection the patient lists load instead of whole rows
+    @Benchmark
+    public List<HMSNeumorphicAppModern.Patient> loadPatientSummaries() {
+        return db.loadPatientSummaries();
+    }
+
+    @Benchmark
+    public List<HMSNeumorphicAppModern.Bill> loadBills() {
+        return db.loadBills();
+    }
+
+    // One screenful from the middle of the table, as the paged patients view fetches it
+    @Benchmark
+    public List<HMSNeumorphicAppModern.Patient> loadPatientsPage() {
+        return db.loadPatientsPage(middleId);
+    }
+
+    @Benchmark
+    public List<HMSNeumorphicAppModern.Patient> loadPatientSummariesPage() {
+        return db.loadPatientSummariesPage(middleId);
+    }
+}
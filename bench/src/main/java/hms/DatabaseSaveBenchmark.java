@@ -0,0 +1,97 @@
+package hms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Single-row saves (one dialog click) and batched bulk saves of `rows` rows.
+// Bulk saves go into a fresh database each iteration so every run inserts the same amount.
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class DatabaseSaveBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rows;
+
+    private Path file;
+    private DatabaseManager db;
+    private List<HMSNeumorphicAppModern.Patient> patients;
+    private List<HMSNeumorphicAppModern.Doctor> doctors;
+    private List<HMSNeumorphicAppModern.Appointment> appointments;
+    private List<HMSNeumorphicAppModern.Bill> bills;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        file = BenchData.tempDatabase();
+        db = new DatabaseManager(file.toString());
+        patients = BenchData.patients(rows, 1);
+        doctors = BenchData.doctors(Math.max(1, rows / 100), 2);
+        appointments = BenchData.appointments(rows, patients, doctors, 3);
+        bills = BenchData.bills(rows, patients, BenchData.services(), 4);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws Exception {
+        BenchData.deleteDatabase(db, file);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public void savePatient() throws SQLException {
+        db.savePatient(patients.get(0));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public void saveBill() throws SQLException {
+        db.saveBill(bills.get(0));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public int savePatients() {
+        return db.savePatients(patients);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public int saveAppointments() {
+        return db.saveAppointments(appointments);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public int saveBills() {
+        return db.saveBills(bills);
+    }
+}
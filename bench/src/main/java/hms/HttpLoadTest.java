@@ -0,0 +1,137 @@
+package hms;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// ==================================================
+// HTTP API LOAD TEST
+// ==================================================
+// Closed-loop load generator for HttpApi: each of N clients sends a request,
+// waits for the reply and sends the next, for a fixed time per concurrency
+// level. Reports throughput and latency percentiles per level.
+//
+//   java -cp bench/target/benchmarks.jar hms.HttpLoadTest --concurrency 1,16,64,256
+//
+// Without --url it serves a temporary database of --patients seeded rows on a
+// free localhost port and requests GET /api/patients/<random id>. With --url it
+// repeatedly GETs that URL from an already running `serve`.
+final class HttpLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        int patients = 10_000;
+        int seconds = 10, warmup = 2;
+        int[] levels = {1, 16, 64, 256};
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--url": url = value; break;
+                    case "--patients": patients = Integer.parseInt(value); break;
+                    case "--seconds": seconds = Integer.parseInt(value); break;
+                    case "--warmup": warmup = Integer.parseInt(value); break;
+                    case "--concurrency": {
+                        String[] parts = value.split(",");
+                        levels = new int[parts.length];
+                        for (int k = 0; k < parts.length; k++) levels[k] = Integer.parseInt(parts[k].trim());
+                        break;
+                    }
+                    default: throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+                i++;
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: HttpLoadTest [--url URL | --patients N] [--concurrency 1,16,64] [--seconds N] [--warmup N]");
+            System.exit(2);
+            return;
+        }
+
+        Path file = null;
+        DatabaseManager db = null;
+        HttpApi api = null;
+        try {
+            String base;
+            int idRange;
+            if (url == null) {
+                file = BenchData.tempDatabase();
+                db = new DatabaseManager(file.toString());
+                db.savePatients(BenchData.patients(patients, 42));
+                api = new HttpApi(db, new InetSocketAddress("127.0.0.1", 0));
+                api.start();
+                base = "http://127.0.0.1:" + api.port() + "/api/patients/";
+                idRange = patients;
+                System.out.printf("Serving %,d patients on port %d (%s threads)%n", patients, api.port(),
+                        HttpApi.virtualThreadsAvailable() ? "virtual" : "platform");
+            } else {
+                base = url;
+                idRange = 0;
+            }
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            if (warmup > 0) run(client, base, idRange, levels[0], warmup);
+
+            System.out.printf("%11s %10s %10s %10s %10s %10s %8s%n",
+                    "concurrency", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+            for (int level : levels) {
+                Step step = run(client, base, idRange, level, seconds);
+                System.out.printf("%11d %10d %10.0f %10.2f %10.2f %10.2f %8d%n", level, step.latency.getCount(),
+                        step.latency.getCount() / (double) seconds, step.latency.getP50Micros() / 1000,
+                        step.latency.getP99Micros() / 1000, step.latency.getMaxMicros() / 1000, step.errors.sum());
+            }
+        } finally {
+            if (api != null) api.stop();
+            if (file != null) BenchData.deleteDatabase(db, file);
+        }
+    }
+
+    private static final class Step {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+    }
+
+    // `clients` closed loops for `seconds`; ids are drawn from 1..idRange when idRange > 0
+    private static Step run(HttpClient client, String base, int idRange, int clients, int seconds) throws InterruptedException {
+        Step step = new Step();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService workers = HttpApi.newPerRequestExecutor("hms-load");
+        List<Runnable> loops = new ArrayList<>(clients);
+        for (int c = 0; c < clients; c++) {
+            loops.add(() -> {
+                while (System.nanoTime() < deadline) {
+                    String target = idRange > 0 ? base + (1 + ThreadLocalRandom.current().nextInt(idRange)) : base;
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(target)).timeout(Duration.ofSeconds(30)).GET().build();
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        step.latency.recordSince(start);
+                        if (response.statusCode() >= 400) step.errors.increment();
+                    } catch (IOException e) {
+                        step.errors.increment();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+        }
+        loops.forEach(workers::execute);
+        workers.shutdown();
+        workers.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        return step;
+    }
+}
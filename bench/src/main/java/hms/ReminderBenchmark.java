@@ -0,0 +1,73 @@
+package hms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// checkNotifications is now fed by ReminderScheduler: the cost is queueing the
+// appointments on load and one insert per booking, not a periodic scan
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ReminderBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rows;
+
+    private AppointmentStore appointments;
+    private HMSNeumorphicAppModern.Appointment booking;
+    private ReminderScheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<HMSNeumorphicAppModern.Patient> patients = BenchData.patients(100, 1);
+        List<HMSNeumorphicAppModern.Doctor> doctors = BenchData.doctors(10, 2);
+        appointments = AppointmentStore.of(BenchData.appointments(rows, patients, doctors, 3));
+        // A booking far enough ahead that it is always queued
+        booking = BenchData.appointments(1, patients, doctors, 4).get(0);
+        booking.epochDay += 400;
+        scheduler = new ReminderScheduler(15, due -> { });
+    }
+
+    // Refills the queue to `rows` entries before each batch of bookings
+    @Setup(Level.Iteration)
+    public void fillQueue() {
+        scheduler.reset(appointments);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void reset() {
+        scheduler.reset(appointments);
+    }
+
+    // Time for 1000 bookings into a queue of `rows` reminders
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5, batchSize = 1000)
+    @Measurement(iterations = 10, batchSize = 1000)
+    public void schedule() {
+        scheduler.schedule(booking);
+    }
+}
@@ -0,0 +1,114 @@
+package hms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.RowFilter;
+import javax.swing.SwingUtilities;
+import javax.swing.table.TableModel;
+import javax.swing.table.TableRowSorter;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// The search box: the original case-insensitive regex RowFilter, which reads every
+// cell of every row, against the prefix index createSearchPanel now filters with
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SearchBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"kof", "ama osei", "phone:0241"})
+    public String query;
+
+    private List<HMSNeumorphicAppModern.Patient> patients;
+    private SearchIndex index;
+    private TableRowSorter<TableModel> sorter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        patients = BenchData.patients(rows, 1);
+        ListTableModel<HMSNeumorphicAppModern.Patient> model =
+                new ListTableModel<>(HMSNeumorphicAppModern.PATIENT_COLUMNS, HMSNeumorphicAppModern.PATIENT_COLUMN_CLASSES,
+                        HMSNeumorphicAppModern.PATIENT_CELLS);
+        index = new SearchIndex(HMSNeumorphicAppModern.PATIENT_COLUMNS);
+        SwingUtilities.invokeAndWait(() -> model.setRows(patients));
+        // Completes once the built index is installed on the EDT
+        index.rebuild(patients, HMSNeumorphicAppModern::patientRow).join();
+        sorter = new TableRowSorter<>(model);
+    }
+
+    @Benchmark
+    public int regexFilter() {
+        sorter.setRowFilter(RowFilter.regexFilter("(?i)" + Pattern.quote(query)));
+        return sorter.getViewRowCount();
+    }
+
+    @Benchmark
+    public int indexFilter() {
+        BitSet matches = index.search(query);
+        sorter.setRowFilter(new RowFilter<TableModel, Integer>() {
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                return matches.get(entry.getIdentifier());
+            }
+        });
+        return sorter.getViewRowCount();
+    }
+
+    @Benchmark
+    public BitSet indexSearch() {
+        return index.search(query);
+    }
+
+    // "age 60-80" as a RowFilter re-parsing the age text of every row, against the
+    // index's sorted ages; independent of the query param
+    @Benchmark
+    public int ageRangeParse() {
+        sorter.setRowFilter(new RowFilter<TableModel, Integer>() {
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                String age = entry.getStringValue(1).trim();
+                if (!Validators.isValidAge(age)) return false;
+                int years = Integer.parseInt(age);
+                return years >= 60 && years <= 80;
+            }
+        });
+        return sorter.getViewRowCount();
+    }
+
+    @Benchmark
+    public int ageRangeIndex() {
+        BitSet matches = index.search("age 60-80");
+        sorter.setRowFilter(new RowFilter<TableModel, Integer>() {
+            @Override
+            public boolean include(Entry<? extends TableModel, ? extends Integer> entry) {
+                return matches.get(entry.getIdentifier());
+            }
+        });
+        return sorter.getViewRowCount();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void rebuildIndex() {
+        index.rebuild(patients, HMSNeumorphicAppModern::patientRow).join();
+    }
+}
@@ -0,0 +1,122 @@
+package hms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.swing.SwingUtilities;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// updateBillingTable / updatePatientsTable followed by a read of every cell, as a
+// sorter or a full scroll would do. Models are EDT-only, so each operation runs there.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TableModelBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int rows;
+
+    private Path file;
+    private DatabaseManager db;
+    private List<HMSNeumorphicAppModern.Bill> bills;
+    private ListTableModel<HMSNeumorphicAppModern.Bill> billingModel;
+    private PagedTableModel<HMSNeumorphicAppModern.Patient> patientsModel;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        file = BenchData.tempDatabase();
+        db = new DatabaseManager(file.toString());
+        List<HMSNeumorphicAppModern.Patient> patients = BenchData.patients(rows, 1);
+        db.savePatients(patients);
+        bills = BenchData.bills(rows, patients, BenchData.services(), 2);
+
+        billingModel = new ListTableModel<>(HMSNeumorphicAppModern.BILLING_COLUMNS, HMSNeumorphicAppModern.BILLING_CELLS);
+        patientsModel = new PagedTableModel<>(HMSNeumorphicAppModern.PATIENT_COLUMNS, new DirectPatientSource(db),
+                HMSNeumorphicAppModern::patientRow);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchData.deleteDatabase(db, file);
+    }
+
+    @Benchmark
+    public void updateBillingTable(Blackhole bh) throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            billingModel.setRows(bills);
+            readAll(billingModel, bh);
+        });
+    }
+
+    // Pages are fetched as rows are first read; the source completes synchronously
+    @Benchmark
+    public void updatePatientsTable(Blackhole bh) throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            patientsModel.refresh();
+            readAll(patientsModel, bh);
+        });
+    }
+
+    private static void readAll(CoalescingTableModel model, Blackhole bh) {
+        int columns = model.getColumnCount();
+        for (int row = 0, count = model.getRowCount(); row < count; row++) {
+            for (int column = 0; column < columns; column++) {
+                Object value = model.getValueAt(row, column);
+                if (value == null) value = model.getValueAt(row, column);
+                bh.consume(value);
+            }
+        }
+    }
+
+    // The app's page source without the hop to the database thread
+    private static class DirectPatientSource implements PagedTableModel.PageSource<HMSNeumorphicAppModern.Patient> {
+        private final DatabaseManager db;
+
+        DirectPatientSource(DatabaseManager db) {
+            this.db = db;
+        }
+
+        @Override
+        public int pageSize() {
+            return db.getPageSize();
+        }
+
+        @Override
+        public CompletableFuture<Integer> count() {
+            return CompletableFuture.completedFuture(db.countPatients());
+        }
+
+        @Override
+        public CompletableFuture<List<HMSNeumorphicAppModern.Patient>> loadPage(long afterId) {
+            return CompletableFuture.completedFuture(db.loadPatientsPage(afterId));
+        }
+
+        @Override
+        public CompletableFuture<long[]> pageEnds(int pageSize) {
+            return CompletableFuture.completedFuture(db.loadPatientPageEnds(pageSize));
+        }
+
+        @Override
+        public long idOf(HMSNeumorphicAppModern.Patient row) {
+            return row.id;
+        }
+    }
+}